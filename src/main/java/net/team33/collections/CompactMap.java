@@ -0,0 +1,167 @@
+package net.team33.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Implementation of an immutable, insertion-ordered {@link Map} backed by a flat array of keys and
+ * a flat array of values (no entry object per key).
+ * <p/>
+ * Keys are resolved by a linear scan over precomputed hash codes for up to eight keys and by an open-addressing
+ * table otherwise. Permits {@code null} as key and as value.
+ * <p/>
+ * Instances built from the same {@link Shape} share their key index and only hold their own array of values.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class CompactMap<K, V> extends AbstractMap<K, V> {
+
+    private static final CompactMap<?, ?> EMPTY = new CompactMap<>(KeyIndex.of(new Object[0]), new Object[0]);
+
+    private final KeyIndex index;
+    private final Object[] values;
+    private final Set<Entry<K, V>> entrySet = new EntrySet();
+
+    CompactMap(final KeyIndex index, final Object[] values) {
+        this.index = index;
+        this.values = values;
+    }
+
+    /**
+     * Supplies an immutable copy of a given {@code origin} map,
+     * containing the keys in the same order as the {@code origin} map.
+     *
+     * @throws NullPointerException if {@code origin} is {@code null}.
+     */
+    public static <K, V> Map<K, V> copyOf(final Map<? extends K, ? extends V> origin) {
+        if (origin instanceof CompactMap<?, ?>) {
+            // is immutable, so it may be shared ...
+            @SuppressWarnings("unchecked")
+            final Map<K, V> result = (Map<K, V>) origin;
+            return result;
+        } else if (origin.isEmpty()) {
+            // is immutable and empty, so it may be shared ...
+            @SuppressWarnings("unchecked")
+            final Map<K, V> result = (Map<K, V>) EMPTY;
+            return result;
+        } else {
+            final int size = origin.size();
+            final Object[] keys = new Object[size];
+            final Object[] values = new Object[size];
+            int position = 0;
+            for (final Entry<? extends K, ? extends V> entry : origin.entrySet()) {
+                keys[position] = entry.getKey();
+                values[position] = entry.getValue();
+                position += 1;
+            }
+            return new CompactMap<>(KeyIndex.of(keys), values);
+        }
+    }
+
+    @Override
+    public final int size() {
+        return values.length;
+    }
+
+    @Override
+    public final boolean containsKey(final Object key) {
+        return 0 <= index.indexOf(key);
+    }
+
+    @Override
+    public final V get(final Object key) {
+        return getOrDefault(key, null);
+    }
+
+    @Override
+    public final V getOrDefault(final Object key, final V defaultValue) {
+        final int position = index.indexOf(key);
+        // values[position] has been associated with a K, typed as V ...
+        @SuppressWarnings("unchecked")
+        final V result = (0 > position) ? defaultValue : (V) values[position];
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final void forEach(final BiConsumer<? super K, ? super V> action) {
+        for (int position = 0; position < values.length; ++position) {
+            action.accept((K) index.key(position), (V) values[position]);
+        }
+    }
+
+    @Override
+    public final Set<Entry<K, V>> entrySet() {
+        // Is a view and immutable by itself ...
+        // noinspection ReturnOfCollectionOrArrayField
+        return entrySet;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Two instances of the same {@link Shape} are compared by their value arrays directly.
+     */
+    @Override
+    public final boolean equals(final Object obj) {
+        if ((obj instanceof CompactMap<?, ?>) && (index == ((CompactMap<?, ?>) obj).index)) {
+            return Arrays.equals(values, ((CompactMap<?, ?>) obj).values);
+        } else {
+            return super.equals(obj);
+        }
+    }
+
+    @Override
+    public final int hashCode() {
+        int result = 0;
+        for (int position = 0; position < values.length; ++position) {
+            result += Objects.hashCode(index.key(position)) ^ Objects.hashCode(values[position]);
+        }
+        return result;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public final Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public final int size() {
+            return values.length;
+        }
+    }
+
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+
+        private int position = 0;
+
+        @Override
+        public final boolean hasNext() {
+            return position < values.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public final Entry<K, V> next() {
+            if (hasNext()) {
+                final Entry<K, V> result =
+                        new SimpleImmutableEntry<>((K) index.key(position), (V) values[position]);
+                position += 1;
+                return result;
+
+            } else {
+                throw new NoSuchElementException(String.format("index(%d) >= limit(%d)", position, values.length));
+            }
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package net.team33.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Insertion-ordered hash map from primitive {@code int} keys to object values that does neither box its keys nor
+ * allocate an entry object per key.
+ * <p/>
+ * Keys and values are kept in flat arrays in insertion order, addressed by an open-addressing table with linear
+ * probing. Removing a key is supported but costs linear time.
+ * <p/>
+ * An instance may be {@linkplain #IntObjectMap(IntObjectMap, boolean) unmodifiable}, in which case any modifying
+ * method will throw an {@link UnsupportedOperationException}. {@link #asMap()} supplies a {@link Map} view
+ * for interoperability.
+ *
+ * @param <V> The value type
+ */
+public class IntObjectMap<V> {
+
+    private static final int MIN_TABLE = 8;
+
+    private final boolean modifiable;
+    private int[] keys;
+    private Object[] values;
+    private int[] table;
+    private int size = 0;
+
+    /**
+     * Initiates a new, empty, modifiable instance.
+     */
+    public IntObjectMap() {
+        this.modifiable = true;
+        this.keys = new int[MIN_TABLE / 2];
+        this.values = new Object[MIN_TABLE / 2];
+        this.table = new int[MIN_TABLE];
+    }
+
+    /**
+     * Initiates a new instance as a copy of an {@code origin}.
+     *
+     * @throws NullPointerException if {@code origin} is {@code null}.
+     */
+    public IntObjectMap(final IntObjectMap<? extends V> origin, final boolean modifiable) {
+        this.modifiable = modifiable;
+        this.size = origin.size;
+        this.keys = Arrays.copyOf(origin.keys, modifiable ? origin.keys.length : size);
+        this.values = Arrays.copyOf(origin.values, keys.length, Object[].class);
+        this.table = origin.table.clone();
+    }
+
+    private static int hash(final int key) {
+        final int result = key * 0x9E3779B9;
+        return result ^ (result >>> 16);
+    }
+
+    private int find(final int key) {
+        final int mask = table.length - 1;
+        int cell = hash(key) & mask;
+        int entry = table[cell];
+        while (0 != entry) {
+            if (key == keys[entry - 1]) {
+                return cell;
+            }
+            cell = (cell + 1) & mask;
+            entry = table[cell];
+        }
+        return -cell - 1;
+    }
+
+    private void rehash(final int capacity) {
+        table = new int[capacity];
+        final int mask = capacity - 1;
+        for (int position = 0; position < size; ++position) {
+            int cell = hash(keys[position]) & mask;
+            while (0 != table[cell]) {
+                cell = (cell + 1) & mask;
+            }
+            table[cell] = position + 1;
+        }
+    }
+
+    private void ensureModifiable() {
+        if (!modifiable) {
+            throw new UnsupportedOperationException("not supported");
+        }
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    public final boolean isEmpty() {
+        return 0 == size;
+    }
+
+    public final boolean containsKey(final int key) {
+        return 0 <= find(key);
+    }
+
+    /**
+     * Supplies the value associated with a given {@code key} or {@code null} if there is no such key.
+     */
+    public final V get(final int key) {
+        return getOrDefault(key, null);
+    }
+
+    public final V getOrDefault(final int key, final V defaultValue) {
+        final int cell = find(key);
+        // values[...] has been put as a V ...
+        @SuppressWarnings("unchecked")
+        final V result = (0 > cell) ? defaultValue : (V) values[table[cell] - 1];
+        return result;
+    }
+
+    /**
+     * @return The value previously associated with {@code key} or {@code null}.
+     * @throws UnsupportedOperationException if this instance is unmodifiable.
+     */
+    public final V put(final int key, final V value) {
+        ensureModifiable();
+        final int cell = find(key);
+        if (0 <= cell) {
+            final int position = table[cell] - 1;
+            // values[...] has been put as a V ...
+            @SuppressWarnings("unchecked")
+            final V result = (V) values[position];
+            values[position] = value;
+            return result;
+        } else {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(MIN_TABLE / 2, size * 2));
+                values = Arrays.copyOf(values, keys.length);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size += 1;
+            if (size * 2 > table.length) {
+                rehash(table.length * 2);
+            } else {
+                table[-cell - 1] = size;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @throws NullPointerException          if {@code origin} is {@code null}.
+     * @throws UnsupportedOperationException if this instance is unmodifiable.
+     */
+    public final void putAll(final IntObjectMap<? extends V> origin) {
+        for (int position = 0; position < origin.size; ++position) {
+            // origin.values[...] has been put as a V ...
+            @SuppressWarnings("unchecked")
+            final V value = (V) origin.values[position];
+            put(origin.keys[position], value);
+        }
+    }
+
+    /**
+     * Removes a given {@code key}, if present. Costs linear time.
+     *
+     * @return The value previously associated with {@code key} or {@code null}.
+     * @throws UnsupportedOperationException if this instance is unmodifiable.
+     */
+    public final V remove(final int key) {
+        ensureModifiable();
+        final int cell = find(key);
+        if (0 <= cell) {
+            final int position = table[cell] - 1;
+            // values[...] has been put as a V ...
+            @SuppressWarnings("unchecked")
+            final V result = (V) values[position];
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size -= 1;
+            values[size] = null;
+            rehash(table.length);
+            return result;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Supplies the keys in insertion order.
+     */
+    public final int[] keys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Performs a given {@code action} for each entry in insertion order.
+     */
+    @SuppressWarnings("unchecked")
+    public final void forEach(final Consumer<? super V> action) {
+        for (int position = 0; position < size; ++position) {
+            action.accept(keys[position], (V) values[position]);
+        }
+    }
+
+    /**
+     * Supplies a {@link Map} view of this instance. The view is modifiable if and only if this instance is.
+     * Keys are boxed when accessed through the view.
+     */
+    public final Map<Integer, V> asMap() {
+        return new MapView();
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        return (this == obj) || ((obj instanceof IntObjectMap<?>) && equals((IntObjectMap<?>) obj));
+    }
+
+    private boolean equals(final IntObjectMap<?> other) {
+        if (size == other.size) {
+            for (int position = 0; position < size; ++position) {
+                final int cell = other.find(keys[position]);
+                if ((0 > cell) || !Objects.equals(values[position], other.values[other.table[cell] - 1])) {
+                    return false;
+                }
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Equals the hash code of the {@linkplain #asMap() Map view}.
+     */
+    @Override
+    public final int hashCode() {
+        int result = 0;
+        for (int position = 0; position < size; ++position) {
+            result += keys[position] ^ Objects.hashCode(values[position]);
+        }
+        return result;
+    }
+
+    @Override
+    public final String toString() {
+        return asMap().toString();
+    }
+
+    @FunctionalInterface
+    public interface Consumer<V> {
+        void accept(final int key, final V value);
+    }
+
+    private class MapView extends AbstractMap<Integer, V> {
+
+        @Override
+        public final int size() {
+            return size;
+        }
+
+        @Override
+        public final boolean containsKey(final Object key) {
+            return (key instanceof Integer) && IntObjectMap.this.containsKey((Integer) key);
+        }
+
+        @Override
+        public final V get(final Object key) {
+            return (key instanceof Integer) ? IntObjectMap.this.get((Integer) key) : null;
+        }
+
+        @Override
+        public final V put(final Integer key, final V value) {
+            return IntObjectMap.this.put(key, value);
+        }
+
+        @Override
+        public final V remove(final Object key) {
+            ensureModifiable();
+            return (key instanceof Integer) ? IntObjectMap.this.remove((Integer) key) : null;
+        }
+
+        @Override
+        public final void clear() {
+            ensureModifiable();
+            Arrays.fill(values, 0, size, null);
+            size = 0;
+            Arrays.fill(table, 0);
+        }
+
+        @Override
+        public final Set<Entry<Integer, V>> entrySet() {
+            return new AbstractSet<Entry<Integer, V>>() {
+                @Override
+                public Iterator<Entry<Integer, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<Integer, V>> {
+
+        private int position = 0;
+        private int last = -1;
+
+        @Override
+        public final boolean hasNext() {
+            return position < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public final Map.Entry<Integer, V> next() {
+            if (hasNext()) {
+                final Map.Entry<Integer, V> result =
+                        new AbstractMap.SimpleImmutableEntry<>(keys[position], (V) values[position]);
+                last = position;
+                position += 1;
+                return result;
+
+            } else {
+                throw new NoSuchElementException(String.format("index(%d) >= limit(%d)", position, size));
+            }
+        }
+
+        /**
+         * Removes the entry last returned through the owning instance. Costs linear time.
+         */
+        @Override
+        public final void remove() {
+            ensureModifiable();
+            if (0 > last) {
+                throw new IllegalStateException("next() has not been called since the last remove()");
+            }
+            IntObjectMap.this.remove(keys[last]);
+            position = last;
+            last = -1;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package net.team33.collections;
+
+import java.util.Objects;
+
+/**
+ * Immutable, insertion-ordered association of distinct keys to their positions, intended to back compact
+ * map implementations that store their values in a plain array.
+ * <p/>
+ * Small instances (up to {@value #LINEAR_LIMIT} keys) are resolved by a linear scan over the precomputed hash codes,
+ * larger ones by an open-addressing table with linear probing.
+ */
+abstract class KeyIndex {
+
+    static final int LINEAR_LIMIT = 8;
+
+    private static final KeyIndex EMPTY = new Linear(new Object[0]);
+
+    private final Object[] keys;
+
+    private KeyIndex(final Object[] keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * @param keys distinct keys, {@code null} is allowed. Will be used as is, so the array must not be modified later.
+     */
+    static KeyIndex of(final Object[] keys) {
+        if (0 == keys.length) {
+            return EMPTY;
+        } else if (LINEAR_LIMIT >= keys.length) {
+            return new Linear(keys);
+        } else {
+            return new Hashed(keys);
+        }
+    }
+
+    static int hash(final Object key) {
+        final int result = (null == key) ? 0 : key.hashCode();
+        return result ^ (result >>> 16);
+    }
+
+    final int size() {
+        return keys.length;
+    }
+
+    final Object key(final int index) {
+        return keys[index];
+    }
+
+    /**
+     * Supplies the position of a given {@code key} or {@code -1} if there is no such key.
+     */
+    abstract int indexOf(final Object key);
+
+    private static final class Linear extends KeyIndex {
+
+        private final int[] hashes;
+
+        private Linear(final Object[] keys) {
+            super(keys);
+            this.hashes = new int[keys.length];
+            for (int index = 0; index < keys.length; ++index) {
+                hashes[index] = hash(keys[index]);
+            }
+        }
+
+        @Override
+        final int indexOf(final Object key) {
+            final int hash = hash(key);
+            for (int index = 0; index < hashes.length; ++index) {
+                if ((hash == hashes[index]) && Objects.equals(key, key(index))) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class Hashed extends KeyIndex {
+
+        // Contains (position + 1) of a key, 0 marks a free cell ...
+        private final int[] table;
+        private final int mask;
+
+        private Hashed(final Object[] keys) {
+            super(keys);
+            this.table = new int[Integer.highestOneBit(keys.length * 2 - 1) << 1];
+            this.mask = table.length - 1;
+            for (int index = 0; index < keys.length; ++index) {
+                int cell = hash(keys[index]) & mask;
+                while (0 != table[cell]) {
+                    cell = (cell + 1) & mask;
+                }
+                table[cell] = index + 1;
+            }
+        }
+
+        @Override
+        final int indexOf(final Object key) {
+            int cell = hash(key) & mask;
+            int entry = table[cell];
+            while (0 != entry) {
+                if (Objects.equals(key, key(entry - 1))) {
+                    return entry - 1;
+                }
+                cell = (cell + 1) & mask;
+                entry = table[cell];
+            }
+            return -1;
+        }
+    }
+}
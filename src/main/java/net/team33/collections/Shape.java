@@ -0,0 +1,124 @@
+package net.team33.collections;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Represents a fixed, ordered set of keys that may be shared by many {@link Map}s
+ * (similar to a hidden class in a JavaScript engine).
+ * <p/>
+ * Each map built from a shape is a {@link CompactMap} that only holds an array of values and a reference to the
+ * shape's key index. Two maps of the same shape are compared by their value arrays directly.
+ *
+ * @param <K> The key type
+ */
+public final class Shape<K> {
+
+    private static final String DUPLICATE_KEY = "Duplicate key <%s>";
+    private static final String ILLEGAL_KEYS = "<origin> does not match the keys <%s>: <%s>";
+    private static final String ILLEGAL_SIZE = "Expected %d values but was %d";
+
+    private final KeyIndex index;
+
+    private Shape(final KeyIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Retrieves a new shape consisting of the given {@code keys} in their iteration order.
+     *
+     * @throws NullPointerException     if {@code keys} is {@code null}.
+     * @throws IllegalArgumentException if {@code keys} contains duplicates.
+     */
+    public static <K> Shape<K> of(final Collection<? extends K> keys) {
+        final KeyIndex index = KeyIndex.of(keys.toArray());
+        for (int position = 0; position < index.size(); ++position) {
+            if (position != index.indexOf(index.key(position))) {
+                throw new IllegalArgumentException(format(DUPLICATE_KEY, index.key(position)));
+            }
+        }
+        return new Shape<>(index);
+    }
+
+    /**
+     * Supplies the number of keys.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Supplies the position of a given {@code key} or {@code -1} if this shape does not contain that key.
+     */
+    public int indexOf(final Object key) {
+        return index.indexOf(key);
+    }
+
+    /**
+     * Supplies the key at a given {@code position}.
+     *
+     * @throws IndexOutOfBoundsException if {@code position} is out of range.
+     */
+    public K key(final int position) {
+        // index.key(position) originates from a K ...
+        @SuppressWarnings("unchecked")
+        final K result = (K) index.key(position);
+        return result;
+    }
+
+    /**
+     * Retrieves a new immutable map of this shape, associating each key with the value at its position.
+     *
+     * @throws NullPointerException     if {@code values} is {@code null}.
+     * @throws IllegalArgumentException if the number of {@code values} does not match the {@link #size()}.
+     */
+    @SafeVarargs
+    public final <V> Map<K, V> map(final V... values) {
+        if (values.length == index.size()) {
+            // copies the elements without passing on the generic array itself ...
+            final Object[] copy = new Object[values.length];
+            for (int position = 0; position < values.length; ++position) {
+                copy[position] = values[position];
+            }
+            return new CompactMap<>(index, copy);
+        } else {
+            throw new IllegalArgumentException(format(ILLEGAL_SIZE, index.size(), values.length));
+        }
+    }
+
+    /**
+     * Retrieves a new immutable map of this shape as a copy of an {@code origin} map that must contain exactly the
+     * keys of this shape (in any order).
+     *
+     * @throws NullPointerException     if {@code origin} is {@code null}.
+     * @throws IllegalArgumentException if {@code origin} does not contain exactly the keys of this shape.
+     */
+    public <V> Map<K, V> copyOf(final Map<? extends K, ? extends V> origin) {
+        final int size = index.size();
+        if (origin.size() == size) {
+            final Object[] values = new Object[size];
+            for (int position = 0; position < size; ++position) {
+                final Object key = index.key(position);
+                if (origin.containsKey(key)) {
+                    values[position] = origin.get(key);
+                } else {
+                    throw new IllegalArgumentException(format(ILLEGAL_KEYS, this, origin.keySet()));
+                }
+            }
+            return new CompactMap<>(index, values);
+        } else {
+            throw new IllegalArgumentException(format(ILLEGAL_KEYS, this, origin.keySet()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder("[");
+        for (int position = 0; position < index.size(); ++position) {
+            result.append((0 == position) ? "" : ", ").append(index.key(position));
+        }
+        return result.append("]").toString();
+    }
+}
@@ -0,0 +1,61 @@
+package net.team33.test;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * An append-only buffer of entries that keeps them in chunks of a fixed size, so appending never copies existing
+ * entries (except while the first chunk is still growing) and costs about one reference per entry.
+ * <p/>
+ * As a {@link java.util.List} it is a read-only, random-access view: entries can only be added by
+ * {@link #append(Object)}, which is intended to be used only until ownership is handed over, e.g. to a
+ * {@link Report}.
+ */
+final class ChunkedList extends AbstractList<Object> implements RandomAccess {
+
+    private static final int SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << SHIFT;
+    private static final int MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_SIZE = 8;
+
+    private Object[][] chunks = {new Object[INITIAL_SIZE]};
+    private int size = 0;
+
+    final ChunkedList append(final Object entry) {
+        final int chunk = size >>> SHIFT;
+        final int offset = size & MASK;
+        if (chunk == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunk * 2);
+            chunks[chunk] = new Object[CHUNK_SIZE];
+        } else if (chunks[chunk] == null) {
+            chunks[chunk] = new Object[CHUNK_SIZE];
+        } else if (offset == chunks[chunk].length) {
+            // only the first chunk may be smaller than CHUNK_SIZE ...
+            chunks[chunk] = Arrays.copyOf(chunks[chunk], offset * 2);
+        }
+        chunks[chunk][offset] = entry;
+        size += 1;
+        return this;
+    }
+
+    final ChunkedList appendAll(final Iterable<?> entries) {
+        for (final Object entry : entries) {
+            append(entry);
+        }
+        return this;
+    }
+
+    @Override
+    public final Object get(final int index) {
+        if ((0 > index) || (index >= size)) {
+            throw new IndexOutOfBoundsException(String.format("index(%d) is out of range [0, %d)", index, size));
+        }
+        return chunks[index >>> SHIFT][index & MASK];
+    }
+
+    @Override
+    public final int size() {
+        return size;
+    }
+}
@@ -1,16 +1,59 @@
 package net.team33.test;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
+import static java.lang.String.format;
+
+/**
+ * Iterates over all combinations of the values that are intended for each of some keys
+ * (the cartesian product of the value domains). The first key varies fastest.
+ * <p/>
+ * Besides the common {@link Iterator} contract that supplies an independent copy of each combination, an instance
+ * may be used as a cursor: {@link #current()} supplies a read-only view of the pending combination that
+ * {@link #advance()} updates in place, without any copy:
+ * <pre>
+ * for (final Map&lt;K, V&gt; combination = subject.current(); subject.hasNext(); subject.advance()) {
+ *     ...
+ * }
+ * </pre>
+ * <p/>
+ * Optionally, some {@link Constraint}s may prune the product. Each constraint is checked as soon as all of its keys
+ * are bound (the last key being bound first) and, if it fails, the whole subtree of combinations that share the
+ * values of its keys is skipped without being generated. A constraint is only rechecked when the value of any of its
+ * own keys has changed since its last check (values are compared by identity), otherwise its last result applies.
+ * <p/>
+ * Each value domain is iterated again whenever a more significant key advances. Use {@link #memoize(Map, int)} to
+ * replay expensive or single-use domains from memory instead.
+ */
 public class CombIterator<K, V> implements Iterator<Map<K, V>> {
 
-    private final Map<? extends K, ? extends Iterable<? extends V>> origin;
-    private final Map<K, Iterator<? extends V>> iterators;
-    private final HashMap<K, V> template;
+    private static final String ILLEGAL_KEY = "Constraint refers to an unknown key <%s>";
+    private static final String ILLEGAL_LIMIT = "<limit> must not be negative but was %d";
+    private static final String EXCEEDED_LIMIT = "the domain of key <%s> exceeds the limit of %d values";
+
+    private final Object[] keys;
+    private final Iterable<?>[] domains;
+    private final Iterator<?>[] iterators;
+    private final Object[] values;
+    private final long[] stamps;
+    private final Map<K, V> current = new Combination();
+    private final List<List<Check<K, V>>> checks;
+    private long clock = 0;
+    private boolean available;
 
     /**
      * @param origin An original map containing all intended values for each intended key.
@@ -18,28 +61,134 @@ public class CombIterator<K, V> implements Iterator<Map<K, V>> {
      */
     public CombIterator(final Map<? extends K, ? extends Iterable<? extends V>> origin)
             throws NullPointerException, IllegalArgumentException {
+        this(origin, Collections.emptyList());
+    }
+
+    /**
+     * @param origin      An original map containing all intended values for each intended key.
+     * @param constraints Constraints that each resulting combination must meet.
+     * @throws NullPointerException     when the original map or any of its values is {@code null}
+     *                                  or when {@code constraints} is or contains {@code null}.
+     * @throws IllegalArgumentException when a constraint refers to a key that is not part of the original map.
+     */
+    public CombIterator(final Map<? extends K, ? extends Iterable<? extends V>> origin,
+                        final Collection<? extends Constraint<K, V>> constraints)
+            throws NullPointerException, IllegalArgumentException {
+
+        final int size = origin.size();
+        this.keys = new Object[size];
+        this.domains = new Iterable<?>[size];
+        this.iterators = new Iterator<?>[size];
+        this.values = new Object[size];
+        this.stamps = new long[size];
+
+        // Maps the keys to their relating iterators and prepares the first result ...
+        boolean available = (0 < size);
+        int index = 0;
+        for (final Map.Entry<? extends K, ? extends Iterable<? extends V>> entry : origin.entrySet()) {
+            keys[index] = entry.getKey();
+            domains[index] = entry.getValue();
+            available = resume(index) && available;
+            index += 1;
+        }
 
-        // Maps the keys to their relating iterators and prepares a template for the next result ...
-        this.iterators = new HashMap<>(origin.size());
-        this.template = new LinkedHashMap<>(origin.size());
-        for (final K key : origin.keySet()) {
-            resume(key, origin.get(key).iterator());
+        // Assigns each constraint to the level of its fastest varying key ...
+        this.checks = new ArrayList<>(size);
+        for (int level = 0; level < size; ++level) {
+            checks.add(new ArrayList<>(0));
+        }
+        for (final Constraint<K, V> constraint : constraints) {
+            final int[] indices = new int[constraint.keys.size()];
+            int level = size - 1;
+            int position = 0;
+            for (final K key : constraint.keys) {
+                indices[position] = indexOf(key);
+                level = Math.min(level, indices[position]);
+                position += 1;
+            }
+            if (0 <= level) {
+                checks.get(level).add(new Check<>(indices, constraint.predicate));
+            }
         }
 
-        // To be able to resume the iterators ...
-        this.origin = origin;
+        this.available = available && seek(size - 1);
+    }
+
+    /**
+     * Retrieves a copy of an {@code origin} with each value domain materialized in memory.
+     *
+     * @see #memoize(Map, int)
+     */
+    public static <K, V> Map<K, Iterable<V>> memoize(final Map<? extends K, ? extends Iterable<? extends V>> origin) {
+        return memoize(origin, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retrieves a copy of an {@code origin} with each value domain that does not exceed a given {@code limit} of
+     * values materialized in memory, to be used as the origin of a new {@link CombIterator}.
+     * <p/>
+     * Each domain is iterated once immediately. An instance then replays the materialized domains from memory each
+     * time a more significant key advances, instead of iterating the original domains again. So expensive or lazily
+     * generated domains are evaluated only once, and even single-use domains are supported.
+     * <p/>
+     * A domain that is a {@link Collection} of more than {@code limit} values is spilled: it is retained as is,
+     * without being iterated here, and iterated again on each reset. Any other domain cannot be assumed to support
+     * repeated iteration, so it must not exceed the {@code limit}.
+     *
+     * @throws NullPointerException     when the original map or any of its values is {@code null}.
+     * @throws IllegalArgumentException when {@code limit} is negative.
+     * @throws IllegalStateException    when a domain that is no {@link Collection} exceeds the {@code limit}.
+     */
+    public static <K, V> Map<K, Iterable<V>> memoize(final Map<? extends K, ? extends Iterable<? extends V>> origin,
+                                                     final int limit) {
+        if (0 > limit) {
+            throw new IllegalArgumentException(format(ILLEGAL_LIMIT, limit));
+        }
+        final Map<K, Iterable<V>> result = new LinkedHashMap<>(origin.size());
+        for (final Map.Entry<? extends K, ? extends Iterable<? extends V>> entry : origin.entrySet()) {
+            result.put(entry.getKey(), memo(entry.getKey(), entry.getValue(), limit));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Iterable<V> memo(final Object key, final Iterable<? extends V> domain, final int limit) {
+        if ((domain instanceof Collection<?>) && (limit < ((Collection<?>) domain).size())) {
+            // spilled: the domain is only read, so it may be treated as an Iterable<V> ...
+            return (Iterable<V>) domain;
+        }
+        final ArrayList<V> result = new ArrayList<>(0);
+        for (final V value : domain) {
+            if (limit == result.size()) {
+                // a part is consumed already, so re-iterating a single-use domain would silently truncate it ...
+                throw new IllegalStateException(format(EXCEEDED_LIMIT, key, limit));
+            }
+            result.add(value);
+        }
+        result.trimToSize();
+        return Collections.unmodifiableList(result);
+    }
+
+    private int indexOf(final Object key) {
+        for (int index = 0; index < keys.length; ++index) {
+            if (Objects.equals(key, keys[index])) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException(format(ILLEGAL_KEY, key));
     }
 
     @Override
     public final boolean hasNext() {
-        return (0 < origin.size()) && (template.size() == origin.size());
+        return available;
     }
 
     @Override
     public final Map<K, V> next() throws NoSuchElementException {
-        if (hasNext()) {
-            final Map<K, V> result = new LinkedHashMap<>(template);
-            update(origin.keySet().iterator());
+        if (available) {
+            final Map<K, V> result = new LinkedHashMap<>(keys.length);
+            current.forEach(result::put);
+            advance();
             return result;
 
         } else {
@@ -47,34 +196,239 @@ public class CombIterator<K, V> implements Iterator<Map<K, V>> {
         }
     }
 
-    private void update(final Iterator<? extends K> keys) {
-        update(keys.next(), keys);
+    /**
+     * Supplies a read-only view of the pending combination, that is the one {@link #next()} would supply as a copy.
+     * <p/>
+     * The result is always the same instance, updated in place by {@link #advance()} (or {@link #next()}).
+     * Its content is meaningful only while {@link #hasNext()} indicates {@code true}.
+     */
+    public final Map<K, V> current() {
+        // Intended to be shared, is read-only by itself ...
+        // noinspection ReturnOfCollectionOrArrayField
+        return current;
     }
 
-    private void update(final K key, final Iterator<? extends K> moreKeys) {
-        update(key, iterators.get(key), moreKeys);
+    /**
+     * Steps to the following combination in place. Does nothing if there is no pending combination.
+     *
+     * @return {@code true} if there is a pending combination after this step, as indicated by {@link #hasNext()}.
+     */
+    public final boolean advance() {
+        return available && seek(step(0));
     }
 
-    private void update(final K key, final Iterator<? extends V> values, final Iterator<? extends K> moreKeys) {
-        if (values.hasNext()) {
-            template.put(key, values.next());
+    /**
+     * Takes the next value at a given {@code level}, after resetting all lower levels.
+     * Wraps around to higher levels as necessary.
+     *
+     * @return The level that actually got a next value or {@code -1} if the values are exhausted.
+     */
+    private int step(final int level) {
+        for (int index = 0; index < level; ++index) {
+            if (!resume(index)) {
+                return exhausted();
+            }
+        }
+        for (int index = level; index < keys.length; ++index) {
+            if (iterators[index].hasNext()) {
+                bind(index, iterators[index].next());
+                return index;
 
-        } else if (moreKeys.hasNext()) {
-            resume(key, origin.get(key).iterator());
-            update(moreKeys.next(), moreKeys);
+            } else if ((index + 1 < keys.length) && !resume(index)) {
+                return exhausted();
+            }
+        }
+        return exhausted();
+    }
 
-        } else {
-            template.clear();
-            // -> hasNext() -> false
+    private int exhausted() {
+        available = false;
+        return -1;
+    }
+
+    /**
+     * Descends from a given {@code level} that just got a new value, checking the constraints of each level and
+     * stepping over any subtree that violates them, until a valid combination is found.
+     */
+    private boolean seek(final int from) {
+        int level = from;
+        while (0 <= level) {
+            if (!isValid(level)) {
+                level = step(level);
+            } else if (0 == level) {
+                return true;
+            } else {
+                level -= 1;
+            }
         }
+        return false;
+    }
+
+    private boolean isValid(final int level) {
+        for (final Check<K, V> check : checks.get(level)) {
+            if (!check.test(current, stamps, clock)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean resume(final int index) {
+        final Iterator<?> iterator = domains[index].iterator();
+        iterators[index] = iterator;
+        final boolean result = iterator.hasNext();
+        bind(index, result ? iterator.next() : null);
+        return result;
     }
 
-    private void resume(final K key, final Iterator<? extends V> iterator) {
-        iterators.put(key, iterator);
-        if (iterator.hasNext()) {
-            template.put(key, iterator.next());
-        } else if (template.containsKey(key)) {
-            template.remove(key);
+    /**
+     * Binds a {@code value} to the key at a given {@code index} and stamps the key if its value actually changes.
+     */
+    private void bind(final int index, final Object value) {
+        if (values[index] != value) {
+            values[index] = value;
+            clock += 1;
+            stamps[index] = clock;
+        }
+    }
+
+    /**
+     * Applies a constraint's predicate only if the value of any of its keys has changed since its last check.
+     */
+    private static final class Check<K, V> {
+
+        private final int[] indices;
+        private final Predicate<? super Map<K, V>> predicate;
+        private long checked = -1;
+        private boolean valid = false;
+
+        private Check(final int[] indices, final Predicate<? super Map<K, V>> predicate) {
+            this.indices = indices;
+            this.predicate = predicate;
+        }
+
+        private boolean test(final Map<K, V> combination, final long[] stamps, final long clock) {
+            if (isChanged(stamps)) {
+                valid = predicate.test(combination);
+                checked = clock;
+            }
+            return valid;
+        }
+
+        private boolean isChanged(final long[] stamps) {
+            for (final int index : indices) {
+                if (checked < stamps[index]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Represents a constraint on combinations: a predicate that is applied to a (partial) combination and refers
+     * only to the values of some specific keys.
+     */
+    @SuppressWarnings("PublicInnerClass")
+    public static final class Constraint<K, V> {
+
+        private final Set<K> keys;
+        private final Predicate<? super Map<K, V>> predicate;
+
+        private Constraint(final Set<K> keys, final Predicate<? super Map<K, V>> predicate) {
+            this.keys = keys;
+            this.predicate = predicate;
+        }
+
+        /**
+         * Retrieves a new constraint.
+         *
+         * @param keys      The keys whose values the {@code predicate} refers to. The {@code predicate} must not
+         *                  access the values of any other key, as they may not be bound when it's applied.
+         * @param predicate Indicates whether a (partial) combination is valid.
+         * @throws NullPointerException if any parameter is {@code null}.
+         */
+        public static <K, V> Constraint<K, V> of(final Collection<? extends K> keys,
+                                                 final Predicate<? super Map<K, V>> predicate) {
+            return new Constraint<>(new LinkedHashSet<>(keys), Objects.requireNonNull(predicate));
+        }
+    }
+
+    private class Combination extends AbstractMap<K, V> {
+
+        @Override
+        public final int size() {
+            return keys.length;
+        }
+
+        @Override
+        public final boolean containsKey(final Object key) {
+            return 0 <= indexOf(key);
+        }
+
+        @Override
+        public final V get(final Object key) {
+            final int index = indexOf(key);
+            // values[index] originates from the Iterable<? extends V> at the same index ...
+            @SuppressWarnings("unchecked")
+            final V result = (0 > index) ? null : (V) values[index];
+            return result;
+        }
+
+        private int indexOf(final Object key) {
+            for (int index = 0; index < keys.length; ++index) {
+                if (Objects.equals(key, keys[index])) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public final void forEach(final BiConsumer<? super K, ? super V> action) {
+            for (int index = 0; index < keys.length; ++index) {
+                action.accept((K) keys[index], (V) values[index]);
+            }
+        }
+
+        @Override
+        public final Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        private int index = 0;
+
+        @Override
+        public final boolean hasNext() {
+            return index < keys.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public final Map.Entry<K, V> next() {
+            if (hasNext()) {
+                final Map.Entry<K, V> result =
+                        new AbstractMap.SimpleImmutableEntry<>((K) keys[index], (V) values[index]);
+                index += 1;
+                return result;
+
+            } else {
+                throw new NoSuchElementException(String.format("index(%d) >= limit(%d)", index, keys.length));
+            }
         }
     }
 }
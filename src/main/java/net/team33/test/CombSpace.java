@@ -0,0 +1,792 @@
+package net.team33.test;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.SplittableRandom;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.ToDoubleBiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Represents the same cartesian product of value domains that a {@link CombIterator} iterates over,
+ * but with each value domain materialized into an indexed array.
+ * <p/>
+ * So each combination corresponds to a mixed-radix number (the first key being the least significant digit),
+ * and the whole product can be split into balanced index ranges in constant time, e.g. to be processed by a
+ * {@linkplain #stream(boolean) parallel stream}. The order of the combinations is the same as the one of a
+ * {@link CombIterator} over the same origin.
+ * <p/>
+ * Any combination can also be accessed {@linkplain #get(long) by its index}, and an {@linkplain #iterator(long)
+ * iteration} may start at or {@linkplain Cursor#skip(long) skip} to any index, each in O(number of keys).
+ * That way, a huge product may be shared by several workers, each processing its own range of indices.
+ * <p/>
+ * Alternatively, the combinations may be iterated in a {@linkplain #grayIterator() minimal-change order}, where
+ * consecutive combinations differ in exactly one key.
+ * <p/>
+ * Or they may be iterated {@linkplain #byPriority(ToDoubleBiFunction) best first} by the aggregate weight of their
+ * values, e.g. to meet boundary values early.
+ * <p/>
+ * Finally, a product that is too large to be processed as a whole may be {@linkplain #sample(long, long, boolean)
+ * sampled} uniformly at random, with or without replacement, directly from the index space.
+ */
+public class CombSpace<K, V> implements Iterable<Map<K, V>> {
+
+    private static final String ILLEGAL_INDEX = "index(%s) is out of range [0, %s)";
+    private static final String ILLEGAL_COUNT = "<count> must be in range [0, %s] but was %d";
+    private static final String ILLEGAL_CAPACITY = "<capacity> must be positive but was %d";
+    private static final int DEFAULT_FRONTIER = 1 << 16;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int FEISTEL_ROUNDS = 4;
+
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+    private static final int CHARACTERISTICS = Spliterator.ORDERED
+            | Spliterator.SIZED
+            | Spliterator.SUBSIZED
+            | Spliterator.IMMUTABLE
+            | Spliterator.NONNULL;
+
+    private final Object[] keys;
+    private final Object[][] domains;
+    private final BigInteger size;
+
+    private CombSpace(final Object[] keys, final Object[][] domains) {
+        this.keys = keys;
+        this.domains = domains;
+        this.size = product(domains);
+    }
+
+    /**
+     * Retrieves a new instance by an original map containing all intended values for each intended key.
+     * Each value domain is iterated exactly once.
+     *
+     * @throws NullPointerException when the original map or any of its values is {@code null}.
+     */
+    public static <K, V> CombSpace<K, V> of(final Map<? extends K, ? extends Iterable<? extends V>> origin) {
+        final int size = origin.size();
+        final Object[] keys = new Object[size];
+        final Object[][] domains = new Object[size][];
+        int index = 0;
+        for (final Map.Entry<? extends K, ? extends Iterable<? extends V>> entry : origin.entrySet()) {
+            keys[index] = entry.getKey();
+            domains[index] = materialize(entry.getValue());
+            index += 1;
+        }
+        return new CombSpace<>(keys, domains);
+    }
+
+    static Object[] materialize(final Iterable<?> domain) {
+        final List<Object> result = new ArrayList<>(0);
+        for (final Object value : domain) {
+            result.add(value);
+        }
+        return result.toArray();
+    }
+
+    private static BigInteger product(final Object[][] domains) {
+        BigInteger result = (0 < domains.length) ? BigInteger.ONE : BigInteger.ZERO;
+        for (final Object[] domain : domains) {
+            result = result.multiply(BigInteger.valueOf(domain.length));
+        }
+        return result;
+    }
+
+    /**
+     * Supplies the number of combinations.
+     *
+     * @throws ArithmeticException when the number of combinations exceeds {@link Long#MAX_VALUE}.
+     *                             Use {@link #bigSize()} in that case.
+     */
+    public final long size() {
+        return size.longValueExact();
+    }
+
+    /**
+     * Supplies the number of combinations, regardless of its magnitude.
+     */
+    public final BigInteger bigSize() {
+        return size;
+    }
+
+    /**
+     * Supplies the combination at a given {@code index} as an independent map.
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is negative or not less than the {@link #bigSize()}.
+     */
+    public final Map<K, V> get(final long index) {
+        return get(BigInteger.valueOf(index));
+    }
+
+    /**
+     * Supplies the combination at a given {@code index} as an independent map.
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is negative or not less than the {@link #bigSize()}.
+     */
+    public final Map<K, V> get(final BigInteger index) {
+        return combination(digits(checked(index)));
+    }
+
+    private BigInteger checked(final BigInteger index) {
+        if ((0 > index.signum()) || (0 <= index.compareTo(size))) {
+            throw new IndexOutOfBoundsException(String.format(ILLEGAL_INDEX, index, size));
+        }
+        return index;
+    }
+
+    /**
+     * Supplies a {@link Cursor} over all combinations, starting at index {@code 0}.
+     */
+    @Override
+    public final Cursor iterator() {
+        return new Cursor(new int[domains.length], 0 == size.signum());
+    }
+
+    /**
+     * Supplies a {@link Cursor} over the combinations, starting at a given index.
+     *
+     * @throws IndexOutOfBoundsException if {@code startAt} is negative or greater than the {@link #bigSize()}.
+     */
+    public final Cursor iterator(final long startAt) {
+        return iterator(BigInteger.valueOf(startAt));
+    }
+
+    /**
+     * Supplies a {@link Cursor} over the combinations, starting at a given index.
+     *
+     * @throws IndexOutOfBoundsException if {@code startAt} is negative or greater than the {@link #bigSize()}.
+     */
+    public final Cursor iterator(final BigInteger startAt) {
+        if (startAt.equals(size)) {
+            return new Cursor(new int[domains.length], true);
+        } else {
+            return new Cursor(digits(checked(startAt)), false);
+        }
+    }
+
+    /**
+     * Supplies a {@link GrayCursor} over all combinations in the order of a reflected mixed-radix Gray code:
+     * consecutive combinations differ in the value of exactly one key, that is always the least significant key
+     * that can step further in its current direction.
+     */
+    public final GrayCursor grayIterator() {
+        return new GrayCursor();
+    }
+
+    /**
+     * Supplies an {@link Iterator} over all combinations in order of the sum of the positions of their values within
+     * the respective value domains, so the combinations of the first values of each domain come first.
+     * So, e.g., boundary values listed first in each domain are combined with each other early.
+     *
+     * @see #byPriority(ToDoubleBiFunction)
+     */
+    public final Iterator<Map<K, V>> byPriority() {
+        return new BestFirst((key, index) -> index, DEFAULT_FRONTIER);
+    }
+
+    /**
+     * Supplies an {@link Iterator} over all combinations, each as an independent map, in ascending order of their
+     * aggregate weight, that is the sum of the weights of their values. Combinations of equal weight are supplied in
+     * a deterministic order.
+     * <p/>
+     * The combinations are produced lazily by a k-way merge over the product lattice of the value domains, each
+     * sorted by weight. The frontier of the merge is limited to a default capacity of 65536 nodes.
+     *
+     * @param weight A function that supplies the weight of a value for a given key, a lower weight meaning a higher
+     *               priority. It is applied once to each value when this method is called.
+     * @see #byPriority(ToDoubleBiFunction, int)
+     */
+    public final Iterator<Map<K, V>> byPriority(final ToDoubleBiFunction<? super K, ? super V> weight) {
+        return byPriority(weight, DEFAULT_FRONTIER);
+    }
+
+    /**
+     * Supplies an {@link Iterator} over all combinations, like {@link #byPriority(ToDoubleBiFunction)}, with a
+     * frontier of a given {@code capacity}.
+     * <p/>
+     * Each supplied combination adds at most one successor per key to the frontier. When the frontier exceeds its
+     * {@code capacity}, its heaviest nodes are dropped. Once the frontier runs short of nodes lighter than those
+     * dropped, it is re-derived by walking the lattice through all combinations supplied so far, which takes time
+     * proportional to their number. So the memory needed is bounded by the {@code capacity} (plus the number of
+     * keys times the sum of the domain sizes for the walk), at the expense of some repeated work on a long run.
+     *
+     * @throws IllegalArgumentException if {@code capacity} is not positive.
+     */
+    @SuppressWarnings("unchecked")
+    public final Iterator<Map<K, V>> byPriority(final ToDoubleBiFunction<? super K, ? super V> weight,
+                                                final int capacity) {
+        if (1 > capacity) {
+            throw new IllegalArgumentException(String.format(ILLEGAL_CAPACITY, capacity));
+        }
+        return new BestFirst((key, index) -> weight.applyAsDouble((K) keys[key], (V) domains[key][index]),
+                             capacity);
+    }
+
+    /**
+     * Supplies a {@link Spliterator} over all combinations, each as an independent map.
+     * It is {@link Spliterator#SIZED sized} and {@link Spliterator#SUBSIZED subsized} and splits in constant time.
+     * <p/>
+     * If the number of combinations exceeds {@link Long#MAX_VALUE}, it is neither sized nor subsized, estimates its
+     * size as {@link Long#MAX_VALUE} and splits off batches as by
+     * {@link Spliterators#spliteratorUnknownSize(Iterator, int)}.
+     */
+    public final Spliterator<Map<K, V>> spliterator() {
+        if (0 < size.compareTo(LONG_MAX)) {
+            return Spliterators.spliteratorUnknownSize(
+                    iterator(), CHARACTERISTICS & ~(Spliterator.SIZED | Spliterator.SUBSIZED));
+        }
+        return new Split(0, size.longValue());
+    }
+
+    /**
+     * Supplies a {@link Spliterator} over the combinations in the index range [{@code from}, {@code to}),
+     * each as an independent map.
+     *
+     * @throws IndexOutOfBoundsException if the range is not within [0, {@link #bigSize()}].
+     */
+    public final Spliterator<Map<K, V>> spliterator(final long from, final long to) {
+        if ((0 > from) || (from > to) || (0 < BigInteger.valueOf(to).compareTo(size))) {
+            throw new IndexOutOfBoundsException(String.format(ILLEGAL_INDEX, from + ".." + to, size));
+        }
+        return new Split(from, to);
+    }
+
+    /**
+     * Supplies a {@link Stream} over all combinations, each as an independent map.
+     *
+     * @param parallel {@code true} to get a parallel stream, {@code false} for a sequential one.
+     */
+    public final Stream<Map<K, V>> stream(final boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
+    /**
+     * Supplies a {@link Stream} of {@code count} combinations, each drawn uniformly at random (with replacement)
+     * and supplied as an independent map.
+     * <p/>
+     * The result is reproducible: the same {@code seed} always leads to the same sequence, whether the stream is
+     * processed sequentially or in parallel. Each element is drawn by its own {@link SplittableRandom} that is
+     * derived from the {@code seed} and the element's position, so any split of the stream gets independent
+     * substreams.
+     *
+     * @param parallel {@code true} to get a parallel stream, {@code false} for a sequential one.
+     * @throws IllegalArgumentException if {@code count} is negative or if it is positive while there is no
+     *                                  combination at all.
+     */
+    public final Stream<Map<K, V>> sample(final long count, final long seed, final boolean parallel) {
+        final long limit = (0 == size.signum()) ? 0 : Long.MAX_VALUE;
+        if ((0 > count) || (count > limit)) {
+            throw new IllegalArgumentException(String.format(ILLEGAL_COUNT, limit, count));
+        }
+        return StreamSupport.stream(new Sample(0, count, position -> {
+            final SplittableRandom random = random(seed, position);
+            final int[] result = new int[domains.length];
+            for (int index = 0; index < domains.length; ++index) {
+                result[index] = random.nextInt(domains[index].length);
+            }
+            return result;
+        }), parallel);
+    }
+
+    /**
+     * Supplies a {@link Stream} of {@code count} distinct combinations, drawn uniformly at random (without
+     * replacement) and supplied as independent maps.
+     * <p/>
+     * The combinations are the first {@code count} ones of a pseudo-random permutation of all indices that is
+     * determined by the {@code seed} (a Feistel network with cycle walking), so no bookkeeping of the combinations
+     * already drawn is necessary. The result is reproducible, whether the stream is processed sequentially or in
+     * parallel.
+     *
+     * @param parallel {@code true} to get a parallel stream, {@code false} for a sequential one.
+     * @throws IllegalArgumentException if {@code count} is negative or greater than the {@link #size()}.
+     * @throws ArithmeticException      when the number of combinations exceeds {@link Long#MAX_VALUE}.
+     */
+    public final Stream<Map<K, V>> sampleDistinct(final long count, final long seed, final boolean parallel) {
+        final long limit = size();
+        if ((0 > count) || (count > limit)) {
+            throw new IllegalArgumentException(String.format(ILLEGAL_COUNT, limit, count));
+        }
+        final Permutation permutation = new Permutation(limit, seed);
+        return StreamSupport.stream(new Sample(0, count, position -> digits(permutation.apply(position))), parallel);
+    }
+
+    private static SplittableRandom random(final long seed, final long position) {
+        return new SplittableRandom(seed + (position * GOLDEN_GAMMA)).split();
+    }
+
+    private int[] digits(final long index) {
+        final int[] result = new int[domains.length];
+        long rest = index;
+        for (int position = 0; position < domains.length; ++position) {
+            result[position] = (int) (rest % domains[position].length);
+            rest /= domains[position].length;
+        }
+        return result;
+    }
+
+    private int[] digits(final BigInteger index) {
+        if (Long.SIZE > index.bitLength()) {
+            return digits(index.longValue());
+        } else {
+            final int[] result = new int[domains.length];
+            BigInteger rest = index;
+            for (int position = 0; position < domains.length; ++position) {
+                final BigInteger[] quotientAndRemainder =
+                        rest.divideAndRemainder(BigInteger.valueOf(domains[position].length));
+                result[position] = quotientAndRemainder[1].intValue();
+                rest = quotientAndRemainder[0];
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Adds {@code amount} to the mixed-radix number represented by {@code digits}.
+     *
+     * @return {@code true} if the result overflows, meaning it is beyond the last combination.
+     */
+    private boolean add(final int[] digits, final long amount) {
+        long carry = amount;
+        for (int position = 0; (0 < carry) && (position < digits.length); ++position) {
+            final long radix = domains[position].length;
+            final long sum = digits[position] + (carry % radix);
+            digits[position] = (int) (sum % radix);
+            carry = (carry / radix) + (sum / radix);
+        }
+        return 0 < carry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<K, V> combination(final int[] digits) {
+        final Map<K, V> result = new LinkedHashMap<>(keys.length);
+        for (int position = 0; position < keys.length; ++position) {
+            result.put((K) keys[position], (V) domains[position][digits[position]]);
+        }
+        return result;
+    }
+
+    /**
+     * An {@link Iterator} over the combinations of a {@link CombSpace} that may {@linkplain #skip(long) skip}
+     * any number of combinations in O(number of keys).
+     */
+    @SuppressWarnings("PublicInnerClass")
+    public final class Cursor implements Iterator<Map<K, V>> {
+
+        private final int[] digits;
+        private boolean exhausted;
+
+        private Cursor(final int[] digits, final boolean exhausted) {
+            this.digits = digits;
+            this.exhausted = exhausted;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !exhausted;
+        }
+
+        @Override
+        public Map<K, V> next() {
+            if (exhausted) {
+                throw new NoSuchElementException("There is no next element available");
+            } else {
+                final Map<K, V> result = combination(digits);
+                exhausted = add(digits, 1);
+                return result;
+            }
+        }
+
+        /**
+         * Skips the next {@code count} combinations (or the rest, if there are less).
+         *
+         * @return {@code this}.
+         * @throws IllegalArgumentException if {@code count} is negative.
+         */
+        @SuppressWarnings("ReturnOfThis")
+        public Cursor skip(final long count) {
+            if (0 > count) {
+                throw new IllegalArgumentException("<count> must not be negative but was " + count);
+            }
+            exhausted = exhausted || add(digits, count);
+            return this;
+        }
+    }
+
+    /**
+     * An {@link Iterator} over the combinations of a {@link CombSpace} in the order of a reflected mixed-radix
+     * Gray code, that additionally reports the {@linkplain #changedKey() key that changed} between two consecutive
+     * combinations. Each step costs amortized constant time.
+     */
+    @SuppressWarnings("PublicInnerClass")
+    public final class GrayCursor implements Iterator<Map<K, V>> {
+
+        private final int[] digits = new int[domains.length];
+        private final int[] directions = new int[domains.length];
+        private int pending = -1;
+        private int changed = -1;
+        private boolean exhausted = (0 == size.signum());
+
+        private GrayCursor() {
+            Arrays.fill(directions, 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !exhausted;
+        }
+
+        @Override
+        public Map<K, V> next() {
+            if (exhausted) {
+                throw new NoSuchElementException("There is no next element available");
+            } else {
+                final Map<K, V> result = combination(digits);
+                changed = pending;
+                pending = step();
+                exhausted = (0 > pending);
+                return result;
+            }
+        }
+
+        private int step() {
+            for (int position = 0; position < digits.length; ++position) {
+                final int digit = digits[position] + directions[position];
+                if ((0 <= digit) && (digit < domains[position].length)) {
+                    digits[position] = digit;
+                    return position;
+                }
+                directions[position] = -directions[position];
+            }
+            return -1;
+        }
+
+        /**
+         * Indicates the position of the key whose value differs between the combination most recently supplied by
+         * {@link #next()} and its predecessor, or {@code -1} if there is no predecessor (yet).
+         */
+        public int changedIndex() {
+            return changed;
+        }
+
+        /**
+         * Supplies the key whose value differs between the combination most recently supplied by {@link #next()}
+         * and its predecessor, or {@code null} if there is no predecessor (yet).
+         */
+        @SuppressWarnings("unchecked")
+        public K changedKey() {
+            return (0 > changed) ? null : (K) keys[changed];
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexWeight {
+        double apply(int position, int index);
+    }
+
+    private class BestFirst implements Iterator<Map<K, V>> {
+
+        private final int[][] orders = new int[domains.length][];
+        private final double[][] weights = new double[domains.length][];
+        private final TreeSet<Node> frontier = new TreeSet<>();
+        private final int capacity;
+        private Node last = null;
+        private Node floor = null;
+
+        private BestFirst(final IndexWeight weight, final int capacity) {
+            this.capacity = capacity;
+            for (int key = 0; key < domains.length; ++key) {
+                final int length = domains[key].length;
+                final double[] unsorted = new double[length];
+                final Integer[] order = new Integer[length];
+                for (int index = 0; index < length; ++index) {
+                    unsorted[index] = weight.apply(key, index);
+                    order[index] = index;
+                }
+                Arrays.sort(order, (left, right) -> Double.compare(unsorted[left], unsorted[right]));
+                orders[key] = new int[length];
+                weights[key] = new double[length];
+                for (int index = 0; index < length; ++index) {
+                    orders[key][index] = order[index];
+                    weights[key][index] = unsorted[order[index]];
+                }
+            }
+            if (0 != size.signum()) {
+                offer(node(new int[domains.length]));
+            }
+        }
+
+        private Node node(final int[] ranks) {
+            double weight = 0.0;
+            for (int key = 0; key < ranks.length; ++key) {
+                weight += weights[key][ranks[key]];
+            }
+            return new Node(weight, ranks);
+        }
+
+        /**
+         * Adds a {@code node} to the frontier, dropping the heaviest one if the capacity is exceeded.
+         */
+        private void offer(final Node node) {
+            frontier.add(node);
+            if (capacity < frontier.size()) {
+                final Node dropped = frontier.pollLast();
+                if ((null == floor) || (0 > dropped.compareTo(floor))) {
+                    floor = dropped;
+                }
+            }
+        }
+
+        /**
+         * Supplies the successors of a node. Each combination has a unique predecessor (by decrementing its last
+         * nonzero rank), so the successors form a tree, and a successor is never lighter than its predecessor.
+         */
+        private List<Node> successors(final Node node) {
+            int last = node.ranks.length - 1;
+            while ((0 < last) && (0 == node.ranks[last])) {
+                last -= 1;
+            }
+            final List<Node> result = new ArrayList<>(node.ranks.length - Math.max(0, last));
+            for (int key = Math.max(0, last); key < node.ranks.length; ++key) {
+                if (node.ranks[key] + 1 < domains[key].length) {
+                    final int[] ranks = node.ranks.clone();
+                    ranks[key] += 1;
+                    result.add(node(ranks));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Re-derives the frontier after nodes have been dropped: walks the tree of successors from its root through
+         * all nodes supplied so far and offers those beyond.
+         */
+        private void rederive() {
+            floor = null;
+            frontier.clear();
+            final Deque<Node> pending = new ArrayDeque<>();
+            pending.push(node(new int[domains.length]));
+            while (!pending.isEmpty()) {
+                final Node node = pending.pop();
+                if (0 < node.compareTo(last)) {
+                    offer(node);
+                } else {
+                    successors(node).forEach(pending::push);
+                }
+            }
+        }
+
+        @Override
+        public final boolean hasNext() {
+            if ((null != floor) && (frontier.isEmpty() || (0 <= frontier.first().compareTo(floor)))) {
+                rederive();
+            }
+            return !frontier.isEmpty();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public final Map<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element available");
+            }
+            final Node node = frontier.pollFirst();
+            successors(node).forEach(this::offer);
+            last = node;
+
+            final Map<K, V> result = new LinkedHashMap<>(keys.length);
+            for (int key = 0; key < keys.length; ++key) {
+                result.put((K) keys[key], (V) domains[key][orders[key][node.ranks[key]]]);
+            }
+            return result;
+        }
+
+        /**
+         * Nodes are ordered by weight, then lexicographically by their ranks, so a successor always follows its
+         * predecessor.
+         */
+        private final class Node implements Comparable<Node> {
+
+            private final double weight;
+            private final int[] ranks;
+
+            private Node(final double weight, final int[] ranks) {
+                this.weight = weight;
+                this.ranks = ranks;
+            }
+
+            @Override
+            public int compareTo(final Node other) {
+                final int result = Double.compare(weight, other.weight);
+                if (0 != result) {
+                    return result;
+                }
+                for (int key = 0; key < ranks.length; ++key) {
+                    if (ranks[key] != other.ranks[key]) {
+                        return Integer.compare(ranks[key], other.ranks[key]);
+                    }
+                }
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A pseudo-random permutation of the range [0, size) by a balanced Feistel network over the smallest
+     * even power of two not less than size, cycle walking the values out of range.
+     */
+    private static final class Permutation {
+
+        private final long size;
+        private final int half;
+        private final long mask;
+        private final long[] keys = new long[FEISTEL_ROUNDS];
+
+        private Permutation(final long size, final long seed) {
+            final int bits = Math.max(2, Long.SIZE - Long.numberOfLeadingZeros(size - 1));
+            this.size = size;
+            this.half = (bits + 1) / 2;
+            this.mask = (1L << half) - 1;
+            final SplittableRandom random = new SplittableRandom(seed);
+            for (int round = 0; round < FEISTEL_ROUNDS; ++round) {
+                keys[round] = random.nextLong();
+            }
+        }
+
+        private static long mix(final long value) {
+            long result = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+            result = (result ^ (result >>> 33)) * 0xC4CEB9FE1A85EC53L;
+            return result ^ (result >>> 33);
+        }
+
+        private long apply(final long index) {
+            long result = index;
+            do {
+                result = encrypt(result);
+            } while (0 <= Long.compareUnsigned(result, size));
+            return result;
+        }
+
+        private long encrypt(final long value) {
+            long left = (value >>> half) & mask;
+            long right = value & mask;
+            for (final long key : keys) {
+                final long next = left ^ (mix(right ^ key) & mask);
+                left = right;
+                right = next;
+            }
+            return (left << half) | right;
+        }
+    }
+
+    private class Sample implements Spliterator<Map<K, V>> {
+
+        private long position;
+        private final long fence;
+        private final LongFunction<int[]> draw;
+
+        private Sample(final long position, final long fence, final LongFunction<int[]> draw) {
+            this.position = position;
+            this.fence = fence;
+            this.draw = draw;
+        }
+
+        @Override
+        public final boolean tryAdvance(final Consumer<? super Map<K, V>> action) {
+            if (position < fence) {
+                action.accept(combination(draw.apply(position)));
+                position += 1;
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public final Spliterator<Map<K, V>> trySplit() {
+            final long middle = (position + fence) >>> 1;
+            if (position < middle) {
+                final Spliterator<Map<K, V>> result = new Sample(position, middle, draw);
+                position = middle;
+                return result;
+            } else {
+                return null;
+            }
+        }
+
+        @Override
+        public final long estimateSize() {
+            return fence - position;
+        }
+
+        @Override
+        public final int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    private class Split implements Spliterator<Map<K, V>> {
+
+        private long index;
+        private final long fence;
+
+        private Split(final long index, final long fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public final boolean tryAdvance(final Consumer<? super Map<K, V>> action) {
+            if (index < fence) {
+                action.accept(combination(digits(index)));
+                index += 1;
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public final void forEachRemaining(final Consumer<? super Map<K, V>> action) {
+            if (index < fence) {
+                final int[] digits = digits(index);
+                for (; index < fence; ++index) {
+                    action.accept(combination(digits));
+                    add(digits, 1);
+                }
+            }
+        }
+
+        @Override
+        public final Spliterator<Map<K, V>> trySplit() {
+            final long middle = (index + fence) >>> 1;
+            if (index < middle) {
+                final Spliterator<Map<K, V>> result = new Split(index, middle);
+                index = middle;
+                return result;
+            } else {
+                return null;
+            }
+        }
+
+        @Override
+        public final long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public final int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+}
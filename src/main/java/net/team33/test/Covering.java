@@ -0,0 +1,323 @@
+package net.team33.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Generates t-wise covering sets of combinations as an alternative to the full cartesian product that a
+ * {@link CombIterator} iterates over.
+ * <p/>
+ * A t-wise covering set contains, for any t of the given keys, each combination of their values in at least one
+ * of its combinations. It is computed by the greedy in-parameter-order algorithm (IPOG): the keys are added one by
+ * one, first extending the existing combinations (horizontal growth) and then adding combinations for the value
+ * tuples that are still uncovered (vertical growth). The size of the result grows roughly with the product of the
+ * t largest value domains and logarithmically with the number of keys, instead of exponentially.
+ */
+public final class Covering {
+
+    private static final String ILLEGAL_STRENGTH = "<strength> must be positive but was %d";
+    private static final int DONT_CARE = -1;
+
+    private Covering() {
+    }
+
+    /**
+     * Retrieves a pairwise (2-wise) covering set of combinations.
+     *
+     * @param origin An original map containing all intended values for each intended key.
+     * @throws NullPointerException when the original map or any of its values is {@code null}.
+     * @see #of(Map, int)
+     */
+    public static <K, V> List<Map<K, V>> pairwise(final Map<? extends K, ? extends Iterable<? extends V>> origin) {
+        return of(origin, 2);
+    }
+
+    /**
+     * Retrieves a t-wise covering set of combinations, each as an independent map containing the keys in the same
+     * order as the {@code origin}. The result is deterministic. If {@code strength} is not less than the number of
+     * keys, the result is the full cartesian product.
+     *
+     * @param origin   An original map containing all intended values for each intended key.
+     * @param strength The number t of keys whose value combinations are to be covered.
+     * @throws NullPointerException     when the original map or any of its values is {@code null}.
+     * @throws IllegalArgumentException when {@code strength} is not positive.
+     */
+    public static <K, V> List<Map<K, V>> of(final Map<? extends K, ? extends Iterable<? extends V>> origin,
+                                            final int strength) {
+        if (1 > strength) {
+            throw new IllegalArgumentException(format(ILLEGAL_STRENGTH, strength));
+        }
+        final int size = origin.size();
+        final Object[] keys = new Object[size];
+        final Object[][] domains = new Object[size][];
+        int index = 0;
+        for (final Map.Entry<? extends K, ? extends Iterable<? extends V>> entry : origin.entrySet()) {
+            keys[index] = entry.getKey();
+            domains[index] = CombSpace.materialize(entry.getValue());
+            if (0 == domains[index].length) {
+                return Collections.emptyList();
+            }
+            index += 1;
+        }
+        if (0 == size) {
+            return Collections.emptyList();
+        }
+        return result(keys, domains, new Generator(radices(domains), Math.min(strength, size)).rows());
+    }
+
+    private static int[] radices(final Object[][] domains) {
+        final int[] result = new int[domains.length];
+        for (int index = 0; index < domains.length; ++index) {
+            result[index] = domains[index].length;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> List<Map<K, V>> result(final Object[] keys, final Object[][] domains,
+                                                 final List<int[]> rows) {
+        final List<Map<K, V>> result = new ArrayList<>(rows.size());
+        for (final int[] row : rows) {
+            final Map<K, V> combination = new LinkedHashMap<>(keys.length);
+            for (int index = 0; index < keys.length; ++index) {
+                combination.put((K) keys[index], (V) domains[index][Math.max(0, row[index])]);
+            }
+            result.add(combination);
+        }
+        return result;
+    }
+
+    /**
+     * Works on value indices only. Processes the parameters in order of descending domain size,
+     * but the rows are indexed by the original parameter positions.
+     */
+    private static final class Generator {
+
+        private final int[] radices;
+        private final int strength;
+        private final int[] order;
+        private final List<int[]> rows = new ArrayList<>(0);
+
+        private Generator(final int[] radices, final int strength) {
+            this.radices = radices;
+            this.strength = strength;
+            this.order = order(radices);
+        }
+
+        private static int[] order(final int[] radices) {
+            final Integer[] boxed = new Integer[radices.length];
+            for (int index = 0; index < boxed.length; ++index) {
+                boxed[index] = index;
+            }
+            Arrays.sort(boxed, (left, right) -> radices[right] - radices[left]);
+            final int[] result = new int[boxed.length];
+            for (int index = 0; index < boxed.length; ++index) {
+                result[index] = boxed[index];
+            }
+            return result;
+        }
+
+        private List<int[]> rows() {
+            initiate();
+            for (int step = strength; step < order.length; ++step) {
+                final List<Group> groups = groups(step);
+                growHorizontally(order[step], groups);
+                growVertically(groups);
+            }
+            return rows;
+        }
+
+        /**
+         * Adds the full product of the first {@link #strength} parameters.
+         */
+        private void initiate() {
+            final int[] digits = new int[strength];
+            do {
+                final int[] row = new int[radices.length];
+                Arrays.fill(row, DONT_CARE);
+                for (int index = 0; index < strength; ++index) {
+                    row[order[index]] = digits[index];
+                }
+                rows.add(row);
+            } while (increment(digits));
+        }
+
+        private boolean increment(final int[] digits) {
+            for (int index = 0; index < digits.length; ++index) {
+                digits[index] += 1;
+                if (digits[index] < radices[order[index]]) {
+                    return true;
+                }
+                digits[index] = 0;
+            }
+            return false;
+        }
+
+        /**
+         * Builds a group of value tuples to be covered for each combination of (strength - 1) parameters
+         * that precede the parameter at {@code step}.
+         */
+        private List<Group> groups(final int step) {
+            final List<Group> result = new ArrayList<>(0);
+            final int[] selection = new int[strength - 1];
+            for (int index = 0; index < selection.length; ++index) {
+                selection[index] = index;
+            }
+            do {
+                final int[] parameters = new int[strength];
+                for (int index = 0; index < selection.length; ++index) {
+                    parameters[index] = order[selection[index]];
+                }
+                parameters[selection.length] = order[step];
+                result.add(new Group(parameters, radices));
+            } while (nextSelection(selection, step));
+            return result;
+        }
+
+        private static boolean nextSelection(final int[] selection, final int limit) {
+            for (int index = selection.length - 1; index >= 0; --index) {
+                if (selection[index] < limit - selection.length + index) {
+                    selection[index] += 1;
+                    for (int other = index + 1; other < selection.length; ++other) {
+                        selection[other] = selection[other - 1] + 1;
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void growHorizontally(final int parameter, final List<Group> groups) {
+            for (final int[] row : rows) {
+                int bestValue = 0;
+                int bestGain = -1;
+                for (int value = 0; value < radices[parameter]; ++value) {
+                    row[parameter] = value;
+                    int gain = 0;
+                    for (final Group group : groups) {
+                        gain += group.isUncovered(row) ? 1 : 0;
+                    }
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        bestValue = value;
+                    }
+                }
+                row[parameter] = bestValue;
+                cover(row, groups);
+            }
+        }
+
+        private void growVertically(final List<Group> groups) {
+            for (final Group group : groups) {
+                for (int tuple = group.nextUncovered(0); 0 <= tuple; tuple = group.nextUncovered(tuple + 1)) {
+                    final int[] values = group.decode(tuple);
+                    int[] target = null;
+                    for (int index = 0; (null == target) && (index < rows.size()); ++index) {
+                        if (group.isCompatible(rows.get(index), values)) {
+                            target = rows.get(index);
+                        }
+                    }
+                    if (null == target) {
+                        target = new int[radices.length];
+                        Arrays.fill(target, DONT_CARE);
+                        rows.add(target);
+                    }
+                    group.assign(target, values);
+                    cover(target, groups);
+                }
+            }
+        }
+
+        private static void cover(final int[] row, final List<Group> groups) {
+            for (final Group group : groups) {
+                group.cover(row);
+            }
+        }
+    }
+
+    /**
+     * Represents the value tuples of a specific selection of parameters, each marked as covered or not.
+     */
+    private static final class Group {
+
+        private final int[] parameters;
+        private final int[] radices;
+        private final boolean[] covered;
+
+        private Group(final int[] parameters, final int[] allRadices) {
+            this.parameters = parameters;
+            this.radices = new int[parameters.length];
+            int size = 1;
+            for (int index = 0; index < parameters.length; ++index) {
+                radices[index] = allRadices[parameters[index]];
+                size *= radices[index];
+            }
+            this.covered = new boolean[size];
+        }
+
+        private int tuple(final int[] row) {
+            int result = 0;
+            for (int index = parameters.length - 1; index >= 0; --index) {
+                final int value = row[parameters[index]];
+                if (DONT_CARE == value) {
+                    return -1;
+                }
+                result = result * radices[index] + value;
+            }
+            return result;
+        }
+
+        private int[] decode(final int tuple) {
+            final int[] result = new int[parameters.length];
+            int rest = tuple;
+            for (int index = 0; index < parameters.length; ++index) {
+                result[index] = rest % radices[index];
+                rest /= radices[index];
+            }
+            return result;
+        }
+
+        private boolean isUncovered(final int[] row) {
+            final int tuple = tuple(row);
+            return (0 <= tuple) && !covered[tuple];
+        }
+
+        private void cover(final int[] row) {
+            final int tuple = tuple(row);
+            if (0 <= tuple) {
+                covered[tuple] = true;
+            }
+        }
+
+        private int nextUncovered(final int from) {
+            for (int tuple = from; tuple < covered.length; ++tuple) {
+                if (!covered[tuple]) {
+                    return tuple;
+                }
+            }
+            return -1;
+        }
+
+        private boolean isCompatible(final int[] row, final int[] values) {
+            for (int index = 0; index < parameters.length; ++index) {
+                final int value = row[parameters[index]];
+                if ((DONT_CARE != value) && (values[index] != value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void assign(final int[] row, final int[] values) {
+            for (int index = 0; index < parameters.length; ++index) {
+                row[parameters[index]] = values[index];
+            }
+        }
+    }
+}
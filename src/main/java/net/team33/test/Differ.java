@@ -0,0 +1,324 @@
+package net.team33.test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Describes the structural differences between the entries of two {@link Report}s.
+ * <p/>
+ * Sequences (lists, other iterables and arrays) are compared by Myers' difference algorithm, after stripping their
+ * common prefix and suffix, maps by matching their keys. A changed element that is a sequence, map or map entry on
+ * both sides is compared recursively, up to a nesting depth of {@value #MAX_DEPTH}, so the stack depth is bounded;
+ * a deeper one is rendered as a whole. Only changed elements are rendered, each together with some unchanged
+ * elements as context, prefixed by their path. Removed and unchanged elements are indexed by their position in the
+ * expected sequence, added ones by their position in the actual sequence:
+ * <pre>
+ * @@ [2] @@
+ *   [2]: unchanged
+ * - [3]: expected
+ * + [3]: actual
+ *   [4]: unchanged
+ * </pre>
+ * The costs are linear in the size of the entries plus quadratic in the number of differences D per sequence.
+ * A sequence with more than a limited number of differences is rendered as a whole, as removed and added.
+ */
+final class Differ {
+
+    private static final String NEW_LINE = String.format("%n");
+    private static final String HUNK = "@@ %s[%d] @@";
+    private static final String OMITTED = "... (%d more differences)";
+    private static final String UNCHANGED = " ";
+    private static final String REMOVED = "-";
+    private static final String ADDED = "+";
+    private static final int CONTEXT = 2;
+    private static final int MAX_DISTANCE = 2048;
+    private static final int MAX_LINES = 1000;
+    private static final int MAX_DEPTH = 8;
+    private static final RenderOptions VALUE_OPTIONS =
+            RenderOptions.DEFAULT.withMaxDepth(MAX_DEPTH).withMaxElements(20).withMaxChars(2000);
+
+    private final StringBuilder out = new StringBuilder(0);
+    private int lines = 0;
+    private long omitted = 0;
+    private int depth = 0;
+
+    private Differ() {
+    }
+
+    /**
+     * Supplies the rendered differences or an empty string if there are none.
+     */
+    static String diff(final List<?> expected, final List<?> actual) {
+        final Differ differ = new Differ();
+        differ.diffSequences("", expected, actual);
+        if (0 < differ.omitted) {
+            differ.out.append(String.format(OMITTED, differ.omitted)).append(NEW_LINE);
+        }
+        return differ.out.toString();
+    }
+
+    private static boolean isMap(final Object subject) {
+        return subject instanceof Map<?, ?>;
+    }
+
+    private static boolean isSequence(final Object subject) {
+        return (subject instanceof Iterable<?>) || ((null != subject) && subject.getClass().isArray());
+    }
+
+    private static boolean isStructured(final Object subject) {
+        return isMap(subject) || isSequence(subject) || (subject instanceof Map.Entry<?, ?>);
+    }
+
+    private static List<?> asList(final Object sequence) {
+        if ((sequence instanceof List<?>) && (sequence instanceof RandomAccess)) {
+            return (List<?>) sequence;
+        } else if (sequence instanceof Object[]) {
+            return Arrays.asList((Object[]) sequence);
+        } else if (sequence instanceof Collection<?>) {
+            return new ArrayList<>((Collection<?>) sequence);
+        } else if (sequence instanceof Iterable<?>) {
+            final List<Object> result = new ArrayList<>(0);
+            for (final Object element : (Iterable<?>) sequence) {
+                result.add(element);
+            }
+            return result;
+        } else {
+            final int length = Array.getLength(sequence);
+            return new AbstractList<Object>() {
+                @Override
+                public Object get(final int index) {
+                    return Array.get(sequence, index);
+                }
+
+                @Override
+                public int size() {
+                    return length;
+                }
+            };
+        }
+    }
+
+    private void diffValues(final String path, final Object expected, final Object actual) {
+        if (Objects.equals(expected, actual)) {
+            return;
+        }
+        final long before = lines + omitted;
+        if (depth < MAX_DEPTH) {
+            depth += 1;
+            if (isMap(expected) && isMap(actual)) {
+                diffMaps(path, (Map<?, ?>) expected, (Map<?, ?>) actual);
+            } else if (isSequence(expected) && isSequence(actual)) {
+                diffSequences(path, asList(expected), asList(actual));
+            } else if ((expected instanceof Map.Entry<?, ?>) && (actual instanceof Map.Entry<?, ?>)
+                    && Objects.equals(((Map.Entry<?, ?>) expected).getKey(), ((Map.Entry<?, ?>) actual).getKey())) {
+                diffValues(path + key(((Map.Entry<?, ?>) expected).getKey()),
+                           ((Map.Entry<?, ?>) expected).getValue(), ((Map.Entry<?, ?>) actual).getValue());
+            }
+            depth -= 1;
+        }
+        if (before == lines + omitted) {
+            // not structurally different (e.g. arrays of equal content), too deep or not structured at all ...
+            line(REMOVED, path, expected);
+            line(ADDED, path, actual);
+        }
+    }
+
+    private static String key(final Object key) {
+        return "{" + key + "}";
+    }
+
+    private void diffMaps(final String path, final Map<?, ?> expected, final Map<?, ?> actual) {
+        for (final Map.Entry<?, ?> entry : expected.entrySet()) {
+            final String keyPath = path + key(entry.getKey());
+            if (actual.containsKey(entry.getKey())) {
+                diffValues(keyPath, entry.getValue(), actual.get(entry.getKey()));
+            } else {
+                line(REMOVED, keyPath, entry.getValue());
+            }
+        }
+        for (final Map.Entry<?, ?> entry : actual.entrySet()) {
+            if (!expected.containsKey(entry.getKey())) {
+                line(ADDED, path + key(entry.getKey()), entry.getValue());
+            }
+        }
+    }
+
+    private void diffSequences(final String path, final List<?> expected, final List<?> actual) {
+        int prefix = 0;
+        final int limit = Math.min(expected.size(), actual.size());
+        while ((prefix < limit) && Objects.equals(expected.get(prefix), actual.get(prefix))) {
+            prefix += 1;
+        }
+        int suffix = 0;
+        while ((suffix < limit - prefix) && Objects.equals(expected.get(expected.size() - 1 - suffix),
+                                                           actual.get(actual.size() - 1 - suffix))) {
+            suffix += 1;
+        }
+        final List<?> left = expected.subList(prefix, expected.size() - suffix);
+        final List<?> right = actual.subList(prefix, actual.size() - suffix);
+        final boolean[] removed = new boolean[left.size()];
+        final boolean[] added = new boolean[right.size()];
+        script(left, right, removed, added);
+        hunks(path, expected, actual, prefix, removed, added);
+    }
+
+    /**
+     * Marks the elements to be removed from {@code left} and added from {@code right} by a shortest edit script,
+     * or all of them if the edit distance exceeds {@link #MAX_DISTANCE}.
+     */
+    private static void script(final List<?> left, final List<?> right,
+                               final boolean[] removed, final boolean[] added) {
+        final int n = left.size();
+        final int m = right.size();
+        final List<int[]> trace = new ArrayList<>(0);
+        int[] previous = null;
+        for (int d = 0; d <= Math.min(n + m, MAX_DISTANCE); ++d) {
+            // current[k + d] is the furthest x on diagonal k (k = x - y) in d steps ...
+            final int[] current = new int[2 * d + 1];
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+                if (0 == d) {
+                    x = 0;
+                } else if ((k == -d) || ((k != d) && (previous[k - 1 + d - 1] < previous[k + 1 + d - 1]))) {
+                    x = previous[k + 1 + d - 1];
+                } else {
+                    x = previous[k - 1 + d - 1] + 1;
+                }
+                int y = x - k;
+                while ((x < n) && (y < m) && Objects.equals(left.get(x), right.get(y))) {
+                    x += 1;
+                    y += 1;
+                }
+                current[k + d] = x;
+                if ((x >= n) && (y >= m)) {
+                    trace.add(current);
+                    backtrack(trace, n, m, removed, added);
+                    return;
+                }
+            }
+            trace.add(current);
+            previous = current;
+        }
+        Arrays.fill(removed, true);
+        Arrays.fill(added, true);
+    }
+
+    private static void backtrack(final List<int[]> trace, final int n, final int m,
+                                  final boolean[] removed, final boolean[] added) {
+        int x = n;
+        int y = m;
+        for (int d = trace.size() - 1; d > 0; --d) {
+            final int[] previous = trace.get(d - 1);
+            final int k = x - y;
+            final boolean down = (k == -d) || ((k != d) && (previous[k - 1 + d - 1] < previous[k + 1 + d - 1]));
+            final int previousK = down ? (k + 1) : (k - 1);
+            final int previousX = previous[previousK + d - 1];
+            final int previousY = previousX - previousK;
+            if (down) {
+                added[previousY] = true;
+            } else {
+                removed[previousX] = true;
+            }
+            x = previousX;
+            y = previousY;
+        }
+    }
+
+    private void hunks(final String path, final List<?> expected, final List<?> actual, final int offset,
+                       final boolean[] removed, final boolean[] added) {
+        int i = 0;
+        int j = 0;
+        int printed = -1;
+        while ((i < removed.length) || (j < added.length)) {
+            if ((i < removed.length) && (j < added.length) && !removed[i] && !added[j]) {
+                i += 1;
+                j += 1;
+            } else {
+                final int fromI = i;
+                final int fromJ = j;
+                while ((i < removed.length) && removed[i]) {
+                    i += 1;
+                }
+                while ((j < added.length) && added[j]) {
+                    j += 1;
+                }
+                int equal = 0;
+                while ((i + equal < removed.length) && (j + equal < added.length)
+                        && !removed[i + equal] && !added[j + equal]) {
+                    equal += 1;
+                }
+                final int limit = ((i + equal < removed.length) || (j + equal < added.length))
+                        ? (offset + i + equal)
+                        : expected.size();
+                printed = hunk(path, expected, actual, offset, fromI, i, fromJ, j, printed, limit);
+            }
+        }
+    }
+
+    /**
+     * Renders a single change: the elements [fromI, toI) removed from {@code expected} and [fromJ, toJ) added from
+     * {@code actual} (relative to {@code offset}), surrounded by unchanged context up to the next change at
+     * {@code limit}.
+     *
+     * @return The index (in {@code expected}) following the last element rendered, initially -1.
+     */
+    private int hunk(final String path, final List<?> expected, final List<?> actual, final int offset,
+                     final int fromI, final int toI, final int fromJ, final int toJ,
+                     final int printed, final int limit) {
+        final int start = Math.max(Math.max(0, printed), offset + fromI - CONTEXT);
+        if ((start != printed) && (lines < MAX_LINES)) {
+            // does not continue the previous hunk ...
+            lines += 1;
+            out.append(String.format(HUNK, path, start)).append(NEW_LINE);
+        }
+        for (int index = start; index < offset + fromI; ++index) {
+            line(UNCHANGED, path + "[" + index + "]", expected.get(index));
+        }
+        final int paired = Math.min(toI - fromI, toJ - fromJ);
+        int pairs = 0;
+        while ((pairs < paired) && isStructured(expected.get(offset + fromI + pairs))
+                && isStructured(actual.get(offset + fromJ + pairs))) {
+            diffValues(path + "[" + (offset + fromI + pairs) + "]",
+                       expected.get(offset + fromI + pairs), actual.get(offset + fromJ + pairs));
+            pairs += 1;
+        }
+        for (int index = offset + fromI + pairs; index < offset + toI; ++index) {
+            line(REMOVED, path + "[" + index + "]", expected.get(index));
+        }
+        for (int index = offset + fromJ + pairs; index < offset + toJ; ++index) {
+            line(ADDED, path + "[" + index + "]", actual.get(index));
+        }
+        final int after = Math.min(limit, offset + toI + CONTEXT);
+        for (int index = offset + toI; index < after; ++index) {
+            line(UNCHANGED, path + "[" + index + "]", expected.get(index));
+        }
+        return after;
+    }
+
+    private void line(final String marker, final String path, final Object value) {
+        if (lines < MAX_LINES) {
+            lines += 1;
+            final StringBuilder rendered = new StringBuilder(0);
+            try {
+                new Renderer(rendered, VALUE_OPTIONS).render(value);
+            } catch (final IOException caught) {
+                // a StringBuilder does not throw IOExceptions ...
+                throw new UncheckedIOException(caught);
+            }
+            out.append(marker).append(' ').append(path).append(": ")
+               .append(rendered.toString().replace(NEW_LINE, NEW_LINE + marker + "   "))
+               .append(NEW_LINE);
+        } else {
+            omitted += 1;
+        }
+    }
+}
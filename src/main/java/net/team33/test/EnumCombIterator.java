@@ -0,0 +1,112 @@
+package net.team33.test;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Iterates over all combinations of the values that are intended for each of some enum keys, just like a
+ * {@link CombIterator}, but specialized for enum keys: Each value domain is materialized into an array and the
+ * state is kept in a digit vector indexed by the ordinals of the keys, so a step does neither hash nor iterate.
+ * The keys vary in order of their ordinals, the first one fastest (so the order is the same as the one of a
+ * {@link CombIterator} over an equivalent {@link EnumMap}).
+ * <p/>
+ * Each combination is supplied as an {@link EnumMap} or may be passed {@linkplain #nextInto(BiConsumer) directly}
+ * to any consumer, e.g. the {@link Mapped.Mutable#set(Mapped.Key, Object) setter} of an {@link EnumMapped.Mapper}:
+ * <pre>
+ * while (subject.hasNext()) {
+ *     final Record.Builder builder = new Record.Builder();
+ *     subject.nextInto(builder::set);
+ *     ...
+ * }
+ * </pre>
+ */
+public class EnumCombIterator<K extends Enum<K>, V> implements Iterator<EnumMap<K, V>> {
+
+    private final Class<K> keyClass;
+    private final K[] universe;
+    private final int[] ordinals;
+    private final Object[][] domains;
+    private final int[] digits;
+    private boolean available;
+
+    /**
+     * @param keyClass The {@linkplain Class class representation} of the intended keys.
+     * @param origin   An original map containing all intended values for each intended key.
+     * @throws NullPointerException when {@code keyClass}, the original map or any of its keys or values is
+     *                              {@code null}.
+     * @throws ClassCastException   when the original map contains a key that is not of the {@code keyClass}.
+     */
+    public EnumCombIterator(final Class<K> keyClass, final Map<K, ? extends Iterable<? extends V>> origin)
+            throws NullPointerException, ClassCastException {
+        this.keyClass = keyClass;
+        this.universe = keyClass.getEnumConstants();
+        this.domains = new Object[universe.length][];
+        this.digits = new int[universe.length];
+
+        boolean available = true;
+        int count = 0;
+        for (final Map.Entry<K, ? extends Iterable<? extends V>> entry : origin.entrySet()) {
+            final Object[] domain = CombSpace.materialize(entry.getValue());
+            domains[keyClass.cast(entry.getKey()).ordinal()] = domain;
+            available = (0 < domain.length) && available;
+            count += 1;
+        }
+
+        this.ordinals = new int[count];
+        for (int ordinal = 0, index = 0; ordinal < universe.length; ++ordinal) {
+            if (null != domains[ordinal]) {
+                ordinals[index++] = ordinal;
+            }
+        }
+        this.available = (0 < count) && available;
+    }
+
+    @Override
+    public final boolean hasNext() {
+        return available;
+    }
+
+    /**
+     * Supplies the next combination as an independent {@link EnumMap}.
+     *
+     * @throws NoSuchElementException if there is no next combination.
+     */
+    @Override
+    public final EnumMap<K, V> next() throws NoSuchElementException {
+        final EnumMap<K, V> result = new EnumMap<>(keyClass);
+        nextInto(result::put);
+        return result;
+    }
+
+    /**
+     * Passes each key and its value of the next combination (in order of their ordinals) to a given {@code target}.
+     *
+     * @throws NoSuchElementException if there is no next combination.
+     */
+    @SuppressWarnings("unchecked")
+    public final void nextInto(final BiConsumer<? super K, ? super V> target) throws NoSuchElementException {
+        if (available) {
+            for (final int ordinal : ordinals) {
+                target.accept(universe[ordinal], (V) domains[ordinal][digits[ordinal]]);
+            }
+            advance();
+
+        } else {
+            throw new NoSuchElementException("There is no next element available");
+        }
+    }
+
+    private void advance() {
+        for (final int ordinal : ordinals) {
+            digits[ordinal] += 1;
+            if (digits[ordinal] < domains[ordinal].length) {
+                return;
+            }
+            digits[ordinal] = 0;
+        }
+        available = false;
+    }
+}
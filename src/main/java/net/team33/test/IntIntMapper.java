@@ -0,0 +1,68 @@
+package net.team33.test;
+
+import net.team33.collections.IntIntMap;
+
+import java.util.Map;
+
+/**
+ * Primitive specialisation of a {@link Mapper} for {@code int} keys and {@code int} values
+ * that neither boxes its keys nor allocates an entry object per key.
+ *
+ * @see IntIntMap
+ */
+@SuppressWarnings("ReturnOfThis")
+public class IntIntMapper {
+
+    private final IntIntMap backing = new IntIntMap();
+
+    private IntIntMapper() {
+    }
+
+    /**
+     * Retrieves a mapper, backed by an empty new {@link IntIntMap}
+     */
+    public static IntIntMapper mapper() {
+        return new IntIntMapper();
+    }
+
+    /**
+     * Builds a new modifiable {@link IntIntMap} as a copy of the backing map in current state.
+     * Contains the keys in the same order as the backing map.
+     */
+    public final IntIntMap build() {
+        return new IntIntMap(backing, true);
+    }
+
+    /**
+     * Builds a new unmodifiable {@link IntIntMap} as a copy of the backing map in current state.
+     * Contains the keys in the same order as the backing map.
+     */
+    public final IntIntMap unmodifiable() {
+        return new IntIntMap(backing, false);
+    }
+
+    public final IntIntMapper put(final int key, final int value) {
+        backing.put(key, value);
+        return this;
+    }
+
+    public final IntIntMapper putAll(final IntIntMap origin) {
+        backing.putAll(origin);
+        return this;
+    }
+
+    /**
+     * @throws NullPointerException if {@code origin} is {@code null} or contains {@code null} keys or values.
+     */
+    public final IntIntMapper putAll(final Map<? extends Integer, ? extends Integer> origin) {
+        for (final Map.Entry<? extends Integer, ? extends Integer> entry : origin.entrySet()) {
+            backing.put(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    public final IntIntMapper remove(final int key) {
+        backing.remove(key);
+        return this;
+    }
+}
@@ -0,0 +1,69 @@
+package net.team33.test;
+
+import net.team33.collections.IntObjectMap;
+
+import java.util.Map;
+
+/**
+ * Primitive specialisation of a {@link Mapper} for {@code int} keys and object values
+ * that neither boxes its keys nor allocates an entry object per key.
+ *
+ * @param <V> The value type
+ * @see IntObjectMap
+ */
+@SuppressWarnings("ReturnOfThis")
+public class IntObjectMapper<V> {
+
+    private final IntObjectMap<V> backing = new IntObjectMap<>();
+
+    private IntObjectMapper() {
+    }
+
+    /**
+     * Retrieves a mapper, backed by an empty new {@link IntObjectMap}
+     */
+    public static <V> IntObjectMapper<V> mapper() {
+        return new IntObjectMapper<>();
+    }
+
+    /**
+     * Builds a new modifiable {@link IntObjectMap} as a copy of the backing map in current state.
+     * Contains the keys in the same order as the backing map.
+     */
+    public final IntObjectMap<V> build() {
+        return new IntObjectMap<>(backing, true);
+    }
+
+    /**
+     * Builds a new unmodifiable {@link IntObjectMap} as a copy of the backing map in current state.
+     * Contains the keys in the same order as the backing map.
+     */
+    public final IntObjectMap<V> unmodifiable() {
+        return new IntObjectMap<>(backing, false);
+    }
+
+    public final IntObjectMapper<V> put(final int key, final V value) {
+        backing.put(key, value);
+        return this;
+    }
+
+    public final IntObjectMapper<V> putAll(final IntObjectMap<? extends V> origin) {
+        backing.putAll(origin);
+        return this;
+    }
+
+    /**
+     * @throws NullPointerException if {@code origin} is {@code null} or contains {@code null} keys.
+     */
+    public final IntObjectMapper<V> putAll(final Map<? extends Integer, ? extends V> origin) {
+        for (final Map.Entry<? extends Integer, ? extends V> entry : origin.entrySet()) {
+            backing.put(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    public final IntObjectMapper<V> remove(final int key) {
+        backing.remove(key);
+        return this;
+    }
+}
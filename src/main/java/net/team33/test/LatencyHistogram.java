@@ -0,0 +1,80 @@
+package net.team33.test;
+
+/**
+ * Counts durations (in nanoseconds) in logarithmic buckets, each power of two split into {@code 32} linear
+ * sub-buckets, so any recorded value is known within a relative error of about 3%, using a fixed array of less
+ * than 2000 counters.
+ * <p/>
+ * An instance is not thread-safe. It is intended to be filled by a single thread and {@linkplain #merge merged}
+ * afterwards, so recording is just an index computation and an increment.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_COUNT;
+    private static final int SIZE = index(Long.MAX_VALUE) + 1;
+
+    private final long[] counts = new long[SIZE];
+    private long count = 0;
+    private long max = 0;
+
+    private static int index(final long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BITS;
+        return (shift * SUB_COUNT) + (int) (value >>> shift);
+    }
+
+    /**
+     * Supplies the greatest value that falls into the bucket of the given {@code index}.
+     */
+    private static long highest(final int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        final int shift = (index / SUB_COUNT) - 1;
+        final long mantissa = index - (shift * SUB_COUNT);
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    final void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        counts[index(value)] += 1;
+        count += 1;
+        max = Math.max(max, value);
+    }
+
+    final void merge(final LatencyHistogram other) {
+        for (int index = 0; index < SIZE; ++index) {
+            counts[index] += other.counts[index];
+        }
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    final long getCount() {
+        return count;
+    }
+
+    final long getMax() {
+        return max;
+    }
+
+    /**
+     * Supplies the value below or at which (about) the given {@code quantile} of all recorded values lie,
+     * {@code 0} if there are none.
+     */
+    final long valueAt(final double quantile) {
+        final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long cumulated = 0;
+        for (int index = 0; index < SIZE; ++index) {
+            cumulated += counts[index];
+            if (cumulated >= rank) {
+                return Math.min(max, highest(index));
+            }
+        }
+        return max;
+    }
+}
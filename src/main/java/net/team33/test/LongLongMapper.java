@@ -0,0 +1,68 @@
+package net.team33.test;
+
+import net.team33.collections.LongLongMap;
+
+import java.util.Map;
+
+/**
+ * Primitive specialisation of a {@link Mapper} for {@code long} keys and {@code long} values
+ * that neither boxes its keys nor allocates an entry object per key.
+ *
+ * @see LongLongMap
+ */
+@SuppressWarnings("ReturnOfThis")
+public class LongLongMapper {
+
+    private final LongLongMap backing = new LongLongMap();
+
+    private LongLongMapper() {
+    }
+
+    /**
+     * Retrieves a mapper, backed by an empty new {@link LongLongMap}
+     */
+    public static LongLongMapper mapper() {
+        return new LongLongMapper();
+    }
+
+    /**
+     * Builds a new modifiable {@link LongLongMap} as a copy of the backing map in current state.
+     * Contains the keys in the same order as the backing map.
+     */
+    public final LongLongMap build() {
+        return new LongLongMap(backing, true);
+    }
+
+    /**
+     * Builds a new unmodifiable {@link LongLongMap} as a copy of the backing map in current state.
+     * Contains the keys in the same order as the backing map.
+     */
+    public final LongLongMap unmodifiable() {
+        return new LongLongMap(backing, false);
+    }
+
+    public final LongLongMapper put(final long key, final long value) {
+        backing.put(key, value);
+        return this;
+    }
+
+    public final LongLongMapper putAll(final LongLongMap origin) {
+        backing.putAll(origin);
+        return this;
+    }
+
+    /**
+     * @throws NullPointerException if {@code origin} is {@code null} or contains {@code null} keys or values.
+     */
+    public final LongLongMapper putAll(final Map<? extends Long, ? extends Long> origin) {
+        for (final Map.Entry<? extends Long, ? extends Long> entry : origin.entrySet()) {
+            backing.put(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    public final LongLongMapper remove(final long key) {
+        backing.remove(key);
+        return this;
+    }
+}
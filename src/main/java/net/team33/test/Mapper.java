@@ -1,10 +1,17 @@
 package net.team33.test;
 
+import net.team33.collections.CompactMap;
+import net.team33.collections.Shape;
+
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collector;
 
 @SuppressWarnings("ReturnOfThis")
 public class Mapper<K, V> {
@@ -31,6 +38,55 @@ public class Mapper<K, V> {
         return mapper(LinkedHashMap::new);
     }
 
+    /**
+     * Retrieves a {@link Collector} that accumulates elements into the backing map of a {@link Mapper}.
+     * <p/>
+     * In a parallel stream, each thread accumulates into its own {@link Mapper}, and the partial results are
+     * merged pairwise by putting the entries of the later part into the earlier one. So the insertion order of the
+     * result is deterministic, when the source stream is ordered.
+     *
+     * @param keyFunction   Maps an element to its key.
+     * @param valueFunction Maps an element to its value, must not result in {@code null}.
+     * @param merge         Merges two values associated with the same key.
+     * @param supplier      Supplies an initial, modifiable, empty Map, used as backing for each Mapper.
+     *                      Finally one of those will be the result.
+     */
+    public static <T, K, V> Collector<T, Mapper<K, V>, Map<K, V>> collector(
+            final Function<? super T, ? extends K> keyFunction,
+            final Function<? super T, ? extends V> valueFunction,
+            final BinaryOperator<V> merge,
+            final Supplier<Map<K, V>> supplier) {
+        return Collector.of(
+                () -> mapper(supplier),
+                (mapper, element) -> mapper.merge(keyFunction.apply(element), valueFunction.apply(element), merge),
+                (left, right) -> left.mergeAll(right.backing, merge),
+                mapper -> mapper.backing);
+    }
+
+    /**
+     * Retrieves a {@link Collector.Characteristics#CONCURRENT concurrent}, {@link Collector.Characteristics#UNORDERED
+     * unordered} {@link Collector} that accumulates elements from any thread into the backing map of a single
+     * {@link Mapper}. Intended for targets that do not care about insertion order.
+     *
+     * @param keyFunction   Maps an element to its key.
+     * @param valueFunction Maps an element to its value, must not result in {@code null}.
+     * @param merge         Merges two values associated with the same key.
+     * @param supplier      Supplies an initial, empty {@link ConcurrentMap}, used as backing and finally as result.
+     */
+    public static <T, K, V> Collector<T, Mapper<K, V>, Map<K, V>> concurrentCollector(
+            final Function<? super T, ? extends K> keyFunction,
+            final Function<? super T, ? extends V> valueFunction,
+            final BinaryOperator<V> merge,
+            final Supplier<? extends ConcurrentMap<K, V>> supplier) {
+        return Collector.of(
+                () -> mapper(supplier::get),
+                (mapper, element) -> mapper.merge(keyFunction.apply(element), valueFunction.apply(element), merge),
+                (left, right) -> left.mergeAll(right.backing, merge),
+                mapper -> mapper.backing,
+                Collector.Characteristics.CONCURRENT,
+                Collector.Characteristics.UNORDERED);
+    }
+
     /**
      * Builds a new Map as a copy of the backing map in current state.
      *
@@ -65,6 +121,38 @@ public class Mapper<K, V> {
         return unmodifiable(LinkedHashMap::new);
     }
 
+    /**
+     * Builds a new compact, unmodifiable Map as a copy of the backing map in current state.
+     * Contains the keys in the same order as the backing map.
+     * <p/>
+     * In contrast to {@link #unmodifiable()} the result is backed by flat arrays of keys and values instead of an
+     * entry object per key, which is preferable for maps that are built once and only read afterwards.
+     *
+     * @see CompactMap
+     */
+    public final Map<K, V> compact() {
+        return CompactMap.copyOf(backing);
+    }
+
+    /**
+     * Retrieves a {@link Shape} consisting of the keys of the backing map in current state and order.
+     * <p/>
+     * Intended to fix the key order once and to {@linkplain #compact(Shape) build} many maps of that shape.
+     */
+    public final Shape<K> shape() {
+        return Shape.of(backing.keySet());
+    }
+
+    /**
+     * Builds a new compact, unmodifiable Map of a given {@link Shape} as a copy of the backing map in current state.
+     * The result only holds its values and shares the keys with any other map of the same shape.
+     *
+     * @throws IllegalArgumentException if the backing map does not contain exactly the keys of the {@code shape}.
+     */
+    public final Map<K, V> compact(final Shape<K> shape) {
+        return shape.copyOf(backing);
+    }
+
     public final Mapper<K, V> put(final K key, final V value) {
         backing.put(key, value);
         return this;
@@ -75,6 +163,27 @@ public class Mapper<K, V> {
         return this;
     }
 
+    /**
+     * Associates a {@code key} with a {@code value} or, if already associated, with the result of a given
+     * {@code function} applied to the old and the new {@code value}.
+     *
+     * @throws NullPointerException if {@code value} or {@code function} is {@code null}.
+     * @see Map#merge(Object, Object, BiFunction)
+     */
+    public final Mapper<K, V> merge(final K key, final V value,
+                                    final BiFunction<? super V, ? super V, ? extends V> function) {
+        backing.merge(key, value, function);
+        return this;
+    }
+
+    private Mapper<K, V> mergeAll(final Map<? extends K, ? extends V> origin,
+                                  final BiFunction<? super V, ? super V, ? extends V> function) {
+        for (final Map.Entry<? extends K, ? extends V> entry : origin.entrySet()) {
+            backing.merge(entry.getKey(), entry.getValue(), function);
+        }
+        return this;
+    }
+
     public final Mapper<K, V> remove(final Object key) {
         try {
             backing.remove(key);
@@ -0,0 +1,126 @@
+package net.team33.test;
+
+import java.util.Objects;
+
+import static java.lang.String.format;
+
+/**
+ * Specifies limits for {@linkplain Report#writeTo(Appendable, RenderOptions) rendering a report}.
+ * <p/>
+ * Instances are immutable. Start from {@link #DEFAULT} or {@link #UNLIMITED} and derive as needed, e.g.
+ * <pre>
+ * RenderOptions.UNLIMITED.withMaxDepth(3).withMaxElements(100)
+ * </pre>
+ */
+public final class RenderOptions {
+
+    /**
+     * Does not limit the rendering at all.
+     */
+    public static final RenderOptions UNLIMITED = new RenderOptions(Integer.MAX_VALUE, Integer.MAX_VALUE,
+                                                                    Long.MAX_VALUE, ByteForm.ELEMENTS);
+
+    /**
+     * Limits the rendering to a nesting depth of 64, 10000 elements per collection and 1000000 characters,
+     * as used by {@link Report#toString()}.
+     */
+    public static final RenderOptions DEFAULT = new RenderOptions(64, 10000, 1000000, ByteForm.ELEMENTS);
+
+    private static final String ILLEGAL_LIMIT = "<%s> must not be negative but was %d";
+
+    private final int maxDepth;
+    private final int maxElements;
+    private final long maxChars;
+    private final ByteForm byteForm;
+
+    private RenderOptions(final int maxDepth, final int maxElements, final long maxChars, final ByteForm byteForm) {
+        this.maxDepth = maxDepth;
+        this.maxElements = maxElements;
+        this.maxChars = maxChars;
+        this.byteForm = byteForm;
+    }
+
+    private static long valid(final String name, final long value) {
+        if (0 > value) {
+            throw new IllegalArgumentException(format(ILLEGAL_LIMIT, name, value));
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves a derivative that renders nested collections only up to a given depth, those beyond as
+     * {@code [...]}. The entries of a report itself are at depth 1.
+     *
+     * @throws IllegalArgumentException if {@code maxDepth} is negative.
+     */
+    public RenderOptions withMaxDepth(final int maxDepth) {
+        return new RenderOptions((int) valid("maxDepth", maxDepth), maxElements, maxChars, byteForm);
+    }
+
+    /**
+     * Retrieves a derivative that renders only the first {@code maxElements} elements of each collection,
+     * followed by {@code ...} or {@code ... (n more)}, if there are more.
+     *
+     * @throws IllegalArgumentException if {@code maxElements} is negative.
+     */
+    public RenderOptions withMaxElements(final int maxElements) {
+        return new RenderOptions(maxDepth, (int) valid("maxElements", maxElements), maxChars, byteForm);
+    }
+
+    /**
+     * Retrieves a derivative that renders at most {@code maxChars} characters, cutting off the rest by
+     * {@code ...<truncated>}.
+     *
+     * @throws IllegalArgumentException if {@code maxChars} is negative.
+     */
+    public RenderOptions withMaxChars(final long maxChars) {
+        return new RenderOptions(maxDepth, maxElements, valid("maxChars", maxChars), byteForm);
+    }
+
+    /**
+     * Retrieves a derivative that renders each {@code byte[]} in a given form. A compact form renders only the
+     * first {@linkplain #withMaxElements(int) max elements} bytes, regardless of the depth.
+     *
+     * @throws NullPointerException if {@code byteForm} is {@code null}.
+     */
+    public RenderOptions withByteForm(final ByteForm byteForm) {
+        return new RenderOptions(maxDepth, maxElements, maxChars, Objects.requireNonNull(byteForm));
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getMaxElements() {
+        return maxElements;
+    }
+
+    public long getMaxChars() {
+        return maxChars;
+    }
+
+    public ByteForm getByteForm() {
+        return byteForm;
+    }
+
+    /**
+     * Specifies the form of a rendered {@code byte[]}.
+     */
+    public enum ByteForm {
+
+        /**
+         * Renders a {@code byte[]} like any other array, each element as a decimal number on its own line.
+         */
+        ELEMENTS,
+
+        /**
+         * Renders a {@code byte[]} compactly as {@code <hex:0a1b2c>}.
+         */
+        HEX,
+
+        /**
+         * Renders a {@code byte[]} compactly as {@code <base64:ChUs>}.
+         */
+        BASE64
+    }
+}
@@ -0,0 +1,447 @@
+package net.team33.test;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Renders the entries of a {@link Report} incrementally to an {@link Appendable}, respecting some
+ * {@link RenderOptions}.
+ * <p/>
+ * Works without recursion, using an explicit work stack, so even deeply nested structures may be rendered.
+ * A (non-empty) container that occurs more than once (shared or even containing itself) is rendered only at its
+ * first occurrence and referenced as {@code <ref #n>} at any further occurrence. So the rendering costs are linear
+ * in the number of distinct objects, and each container is iterated at most once.
+ * <p/>
+ * The first occurrence is labeled as {@code #n} if the container is known to be shared in advance: collections, maps
+ * and arrays are scanned for that in rendering order, as far as they may be rendered within
+ * {@link RenderOptions#getMaxChars()}. Other iterables are not scanned, as they may be expensive or even single-use.
+ * <p/>
+ * Arrays of primitives are rendered by direct indexed access, without boxing their elements. A {@code byte[]} may
+ * optionally be rendered in a {@linkplain RenderOptions.ByteForm compact form}.
+ */
+final class Renderer {
+
+    private static final String START_LIST = "[";
+    private static final String END_LIST = "]";
+    private static final String NEW_LINE = String.format("%n");
+    private static final String INDENT = "   ";
+    private static final String COMMA = ",";
+    private static final String ARROW = " -> ";
+    private static final String NULL = "<null>";
+    private static final String ELLIPSIS = "...";
+    private static final String MORE = "... (%d more)";
+    private static final String TRUNCATED = "...<truncated>";
+    private static final String LABEL = "#%d ";
+    private static final String REFERENCE = "<ref #%d>";
+    private static final String HEX_START = "<hex:";
+    private static final String BASE64_START = "<base64:";
+    private static final String COMPACT_MORE = " ... (%d more)";
+    private static final String COMPACT_END = ">";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int COMPACT_CHUNK = 3 * 256;
+
+    private final Appendable out;
+    private final RenderOptions options;
+    private final Map<Object, Integer> occurrences = new IdentityHashMap<>();
+    private final Map<Object, Integer> labels = new IdentityHashMap<>();
+    private int lastLabel = 0;
+    private final Deque<Object> work = new ArrayDeque<>();
+    private final StringBuilder scratch = new StringBuilder(0);
+    private long written = 0;
+    private boolean truncated = false;
+
+    Renderer(final Appendable out, final RenderOptions options) {
+        this.out = out;
+        this.options = options;
+    }
+
+    final void render(final Object subject) throws IOException {
+        count(subject);
+        work.push(new Item(subject, 0));
+        while (!truncated && !work.isEmpty()) {
+            final Object next = work.peek();
+            if (next instanceof Frame) {
+                step((Frame) next);
+            } else {
+                work.pop();
+                if (next instanceof Item) {
+                    build((Item) next);
+                } else {
+                    write((String) next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the occurrences of each collection, map or array that would be rendered with its content, in rendering
+     * order and as far as the elements visited may be rendered within the character limit (each one takes at least
+     * one character), but descends into each container only once.
+     */
+    private void count(final Object subject) {
+        final Deque<Scan> pending = new ArrayDeque<>();
+        pending.push(new Scan(Arrays.asList(subject).iterator(), 0, 1));
+        for (long visited = 0; !pending.isEmpty() && (visited < options.getMaxChars()); ) {
+            final Scan scan = pending.peek();
+            if ((scan.count < scan.limit) && scan.iterator.hasNext()) {
+                scan.count += 1;
+                visited += 1;
+                count(pending, scan.iterator.next(), scan.indent);
+            } else {
+                pending.pop();
+            }
+        }
+    }
+
+    private void count(final Deque<Scan> pending, final Object subject, final int indent) {
+        if (subject instanceof Map.Entry<?, ?>) {
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) subject;
+            pending.push(new Scan(Arrays.asList(entry.getKey(), entry.getValue()).iterator(), indent, 2));
+        } else if (null != primitives(subject)) {
+            if (isRenderedWithContent(subject, indent)) {
+                occurrences.merge(subject, 1, Integer::sum);
+            }
+        } else if (isEager(subject) && (0 != size(subject)) && (indent < options.getMaxDepth())
+                && (1 == occurrences.merge(subject, 1, Integer::sum))) {
+            pending.push(new Scan(iterator(subject), indent + 1, options.getMaxElements()));
+        }
+    }
+
+    private static boolean isEager(final Object subject) {
+        return (subject instanceof Object[]) || (subject instanceof Map<?, ?>) || (subject instanceof Collection<?>);
+    }
+
+    private boolean isRenderedWithContent(final Object primitives, final int indent) {
+        return (0 < Array.getLength(primitives))
+                && ((indent < options.getMaxDepth()) || isCompact(primitives));
+    }
+
+    private boolean isCompact(final Object primitives) {
+        return (primitives instanceof byte[]) && (RenderOptions.ByteForm.ELEMENTS != options.getByteForm());
+    }
+
+    /**
+     * Supplies a typed accessor to the elements of an array of primitives or {@code null} if the {@code subject}
+     * is none.
+     */
+    static Elements primitives(final Object subject) {
+        if (subject instanceof int[]) {
+            final int[] array = (int[]) subject;
+            return (target, index) -> target.append(array[index]);
+        } else if (subject instanceof long[]) {
+            final long[] array = (long[]) subject;
+            return (target, index) -> target.append(array[index]);
+        } else if (subject instanceof double[]) {
+            final double[] array = (double[]) subject;
+            return (target, index) -> target.append(array[index]);
+        } else if (subject instanceof byte[]) {
+            final byte[] array = (byte[]) subject;
+            return (target, index) -> target.append(array[index]);
+        } else if (subject instanceof char[]) {
+            final char[] array = (char[]) subject;
+            return (target, index) -> target.append(array[index]);
+        } else if (subject instanceof boolean[]) {
+            final boolean[] array = (boolean[]) subject;
+            return (target, index) -> target.append(array[index]);
+        } else if (subject instanceof float[]) {
+            final float[] array = (float[]) subject;
+            return (target, index) -> target.append(array[index]);
+        } else if (subject instanceof short[]) {
+            final short[] array = (short[]) subject;
+            return (target, index) -> target.append(array[index]);
+        } else {
+            return null;
+        }
+    }
+
+    private static boolean isContainer(final Object subject) {
+        return (subject instanceof Object[]) || (subject instanceof Map<?, ?>) || (subject instanceof Iterable<?>);
+    }
+
+    /**
+     * Supplies an iterator over the elements of a {@linkplain #isContainer(Object) container}.
+     */
+    private static Iterator<?> iterator(final Object subject) {
+        if (subject instanceof Object[])
+            return new ArrayIterator((Object[]) subject);
+        else if (subject instanceof Map<?, ?>)
+            return ((Map<?, ?>) subject).entrySet().iterator();
+        else
+            return ((Iterable<?>) subject).iterator();
+    }
+
+    /**
+     * Supplies the number of elements of a container or {@code -1} if unknown.
+     */
+    private static int size(final Object subject) {
+        if (subject instanceof Object[])
+            return ((Object[]) subject).length;
+        else if (subject instanceof Map<?, ?>)
+            return ((Map<?, ?>) subject).size();
+        else if (subject instanceof Collection<?>)
+            return ((Collection<?>) subject).size();
+        else
+            return -1;
+    }
+
+    private void write(final CharSequence text) throws IOException {
+        if (!truncated) {
+            final long rest = options.getMaxChars() - written;
+            if (text.length() <= rest) {
+                out.append(text);
+                written += text.length();
+            } else {
+                out.append(text, 0, (int) rest);
+                out.append(TRUNCATED);
+                written = options.getMaxChars();
+                truncated = true;
+            }
+        }
+    }
+
+    private void build(final Item item) throws IOException {
+        final Object subject = item.subject;
+        if (subject instanceof Map.Entry<?, ?>) {
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) subject;
+            work.push(new Item(entry.getValue(), item.indent));
+            work.push(ARROW);
+            work.push(new Item(entry.getKey(), item.indent));
+        } else {
+            final Elements primitives = primitives(subject);
+            if (null != primitives) {
+                buildPrimitives(subject, primitives, item.indent);
+            } else if (isContainer(subject)) {
+                buildContainer(subject, item.indent);
+            } else {
+                write((null == subject) ? NULL : subject.toString());
+            }
+        }
+    }
+
+    private void buildContainer(final Object subject, final int indent) throws IOException {
+        if ((indent < options.getMaxDepth()) && buildReference(subject)) {
+            return;
+        }
+        // not rendered before, so iterated for the first time here ...
+        final Iterator<?> iterator = iterator(subject);
+        if (!iterator.hasNext()) {
+            write(START_LIST);
+            write(END_LIST);
+        } else if (indent >= options.getMaxDepth()) {
+            write(START_LIST);
+            write(ELLIPSIS);
+            write(END_LIST);
+        } else {
+            buildLabel(subject);
+            write(START_LIST);
+            work.push(new Frame(iterator, size(subject), indent));
+        }
+    }
+
+    /**
+     * Writes a reference to the {@code subject} if it has been rendered with its content before. Such a
+     * {@code subject} gets a label at the latest when it is referenced for the first time.
+     *
+     * @return {@code true} if a reference has been written, so the {@code subject} is done.
+     */
+    private boolean buildReference(final Object subject) throws IOException {
+        if (labels.containsKey(subject)) {
+            Integer label = labels.get(subject);
+            if (null == label) {
+                // not known to be shared in advance, so its first occurrence is unlabeled ...
+                label = ++lastLabel;
+                labels.put(subject, label);
+            }
+            write(String.format(REFERENCE, label));
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Registers the {@code subject} as rendered with its content and writes a label if it is known to be
+     * referenced later.
+     */
+    private void buildLabel(final Object subject) throws IOException {
+        if (1 < occurrences.getOrDefault(subject, 0)) {
+            final int label = ++lastLabel;
+            labels.put(subject, label);
+            write(String.format(LABEL, label));
+        } else {
+            labels.put(subject, null);
+        }
+    }
+
+    private void buildPrimitives(final Object subject, final Elements elements, final int indent0)
+            throws IOException {
+        final int length = Array.getLength(subject);
+        if (!isRenderedWithContent(subject, indent0)) {
+            write(START_LIST);
+            write((0 == length) ? "" : ELLIPSIS);
+            write(END_LIST);
+        } else if (!buildReference(subject)) {
+            buildLabel(subject);
+            if (isCompact(subject)) {
+                buildCompact((byte[]) subject);
+            } else {
+                final int indent = indent0 + 1;
+                final int limit = Math.min(length, options.getMaxElements());
+                write(START_LIST);
+                for (int index = 0; !truncated && (index < limit); ++index) {
+                    if (0 < index) {
+                        write(COMMA);
+                    }
+                    buildNewLine(indent);
+                    scratch.setLength(0);
+                    elements.appendTo(scratch, index);
+                    write(scratch);
+                }
+                if (limit < length) {
+                    if (0 < limit) {
+                        write(COMMA);
+                    }
+                    buildNewLine(indent);
+                    write(String.format(MORE, length - limit));
+                }
+                buildNewLine(indent0);
+                write(END_LIST);
+            }
+        }
+    }
+
+    private void buildCompact(final byte[] bytes) throws IOException {
+        final boolean hex = (RenderOptions.ByteForm.HEX == options.getByteForm());
+        final int limit = Math.min(bytes.length, options.getMaxElements());
+        write(hex ? HEX_START : BASE64_START);
+        for (int start = 0; !truncated && (start < limit); start += COMPACT_CHUNK) {
+            final int end = Math.min(limit, start + COMPACT_CHUNK);
+            scratch.setLength(0);
+            if (hex) {
+                for (int index = start; index < end; ++index) {
+                    scratch.append(HEX_DIGITS[(bytes[index] >> 4) & 0xF]).append(HEX_DIGITS[bytes[index] & 0xF]);
+                }
+            } else {
+                scratch.append(Base64.getEncoder().encodeToString(Arrays.copyOfRange(bytes, start, end)));
+            }
+            write(scratch);
+        }
+        if (limit < bytes.length) {
+            write(String.format(COMPACT_MORE, bytes.length - limit));
+        }
+        write(COMPACT_END);
+    }
+
+    private void step(final Frame frame) throws IOException {
+        final int indent = frame.indent0 + 1;
+        if (frame.iterator.hasNext() && (frame.count <= options.getMaxElements())) {
+            if (0 < frame.count) {
+                write(COMMA);
+            }
+            buildNewLine(indent);
+            if (frame.count < options.getMaxElements()) {
+                work.push(new Item(frame.iterator.next(), indent));
+            } else {
+                write((0 > frame.size) ? ELLIPSIS : String.format(MORE, frame.size - frame.count));
+            }
+            frame.count += 1;
+        } else {
+            work.pop();
+            buildNewLine(frame.indent0);
+            write(END_LIST);
+        }
+    }
+
+    private void buildNewLine(final int indent) throws IOException {
+        write(NEW_LINE);
+        for (int i = 0; i < indent; ++i) {
+            write(INDENT);
+        }
+    }
+
+    private static final class Item {
+
+        private final Object subject;
+        private final int indent;
+
+        private Item(final Object subject, final int indent) {
+            this.subject = subject;
+            this.indent = indent;
+        }
+    }
+
+    private static final class Scan {
+
+        private final Iterator<?> iterator;
+        private final int indent;
+        private final int limit;
+        private int count = 0;
+
+        private Scan(final Iterator<?> iterator, final int indent, final int limit) {
+            this.iterator = iterator;
+            this.indent = indent;
+            this.limit = limit;
+        }
+    }
+
+    private static final class Frame {
+
+        private final Iterator<?> iterator;
+        private final int size;
+        private final int indent0;
+        private int count = 0;
+
+        private Frame(final Iterator<?> iterator, final int size, final int indent0) {
+            this.iterator = iterator;
+            this.size = size;
+            this.indent0 = indent0;
+        }
+    }
+
+    @FunctionalInterface
+    interface Elements {
+        void appendTo(StringBuilder target, int index);
+    }
+
+    private static class ArrayIterator implements Iterator<Object> {
+
+        private final Object[] array;
+
+        private int index = 0;
+
+        private ArrayIterator(final Object[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public final boolean hasNext() {
+            return index < array.length;
+        }
+
+        @Override
+        public final Object next() {
+            if (hasNext()) {
+                final Object result = array[index];
+                index += 1;
+                return result;
+
+            } else {
+                throw new NoSuchElementException(String.format("index(%d) >= limit(%d)", index, array.length));
+            }
+        }
+
+        @Override
+        public final void remove() {
+            throw new UnsupportedOperationException("not supported");
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package net.team33.test;
 
-import java.lang.reflect.Array;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.NoSuchElementException;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
@@ -20,19 +18,77 @@ public class Report {
 
     public static final Report EMPTY = new Report(emptyList());
 
-    private static final String START_LIST = "[";
-    private static final String END_LIST = "]";
-    private static final String NEW_LINE = String.format("%n");
-    private static final String INDENT = "   ";
-    private static final String COMMA = ",";
-    private static final String NULL = "<null>";
+    /**
+     * Represents an unknown number of {@linkplain #getSkipped() skipped} subjects: the run has been stopped early
+     * but the subjects left have not been retrieved, so their number is unknown.
+     */
+    public static final long UNKNOWN_SKIPPED = -1;
+
+    private static final String PARTIAL = "%n<partial: %d subject(s) skipped>";
+    private static final String PARTIAL_UNKNOWN = "%n<partial: remaining subjects skipped>";
 
     private final List<Object> entries;
+    private final long skipped;
+    private final Timing timing;
 
     public Report(final List<?> entries) throws NullPointerException {
         this.entries = unmodifiableList(new ArrayList<>(entries));
+        this.skipped = 0;
+        this.timing = Timing.NONE;
+    }
+
+    /**
+     * Initiates a new instance that takes ownership of the given {@code entries} without copying.
+     *
+     * @param skipped The number of subjects that have not been tested because the run has been stopped early,
+     *                {@link #UNKNOWN_SKIPPED} if unknown.
+     * @param timing  The timing of the run, {@link Timing#NONE} if it has not been timed.
+     */
+    Report(final ChunkedList entries, final long skipped, final Timing timing) {
+        this.entries = entries;
+        this.skipped = skipped;
+        this.timing = timing;
+    }
+
+    /**
+     * Indicates that the run this report originates from has been stopped early,
+     * so some subjects have been {@linkplain #getSkipped() skipped}.
+     */
+    public final boolean isPartial() {
+        return 0 != skipped;
+    }
+
+    /**
+     * Supplies the number of subjects that have not been tested because the run has been stopped early,
+     * {@link #UNKNOWN_SKIPPED} if the report is {@linkplain #isPartial() partial} but that number is unknown.
+     */
+    public final long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Supplies the timing of the run this report originates from, {@link Timing#NONE} unless the run has been
+     * {@linkplain Reporter.Policy#withTiming(int) timed}.
+     */
+    public final Timing getTiming() {
+        return timing;
+    }
+
+    /**
+     * Supplies the entries of this report as an immutable, random-access list.
+     */
+    public final List<Object> asList() {
+        // Already is immutable ...
+        // noinspection ReturnOfCollectionOrArrayField
+        return entries;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Two reports are equal if they contain equal entries, regardless of whether they are {@link #isPartial()}
+     * and of their {@link #getTiming() timing}.
+     */
     @Override
     public final boolean equals(final Object other) {
         return (this == other) || ((other instanceof Report) && equalsInner((Report) other));
@@ -43,96 +99,58 @@ public class Report {
         return entries.hashCode();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Renders the entries as by {@link #writeTo(Appendable, RenderOptions)} using {@link RenderOptions#DEFAULT}.
+     */
     @Override
     public final String toString() {
-        return build(new StringBuilder(0), entries, 0).toString();
-    }
-
-    private static StringBuilder build(final StringBuilder result, final Object subject, final int indent) {
-        if (null == subject)
-            return result.append(NULL);
-        else if (subject.getClass().isArray())
-            return buildIterable(result, new ArrayIterator(subject), indent);
-        else if (subject instanceof Map<?,?>)
-            return buildIterable(result, ((Map<?,?>) subject).entrySet().iterator(), indent);
-        else if (subject instanceof Iterable<?>)
-            return buildIterable(result, ((Iterable<?>) subject).iterator(), indent);
-        else if (subject instanceof Map.Entry<?,?>)
-            return buildEntry(result, (Map.Entry<?,?>) subject, indent);
-        else
-            return result.append(subject.toString());
-    }
-
-    private static StringBuilder buildEntry(final StringBuilder result, final Map.Entry<?, ?> entry, final int indent) {
-        build(result, entry.getKey(), indent);
-        result.append(" -> ");
-        return build(result, entry.getValue(), indent);
-    }
-
-    private static StringBuilder buildIterable(
-            final StringBuilder result, final Iterator<?> iterator, final int indent0) {
-
-        result.append(START_LIST);
-        if (iterator.hasNext()) {
-            final int indent = indent0 + 1;
-            buildNext(result, iterator.next(), indent);
-            while (iterator.hasNext()) {
-                result.append(COMMA);
-                buildNext(result, iterator.next(), indent);
-            }
-            buildNewLine(result, indent0);
+        try {
+            return writeTo(new StringBuilder(0), RenderOptions.DEFAULT).toString();
+        } catch (final IOException caught) {
+            // a StringBuilder does not throw IOExceptions ...
+            throw new UncheckedIOException(caught);
         }
-        return result.append(END_LIST);
     }
 
-    private static void buildNext(final StringBuilder result, final Object next, final int indent) {
-        buildNewLine(result, indent);
-        build(result, next, indent);
+    /**
+     * Renders the entries of this report incrementally to a given {@code target}, as far as the given
+     * {@code options} allow. Elided parts are marked by an ellipsis. A {@link #isPartial() partial} report is
+     * marked as such.
+     *
+     * @return The {@code target}.
+     * @throws IOException as thrown by the {@code target}.
+     */
+    public final <A extends Appendable> A writeTo(final A target, final RenderOptions options) throws IOException {
+        new Renderer(target, options).render(entries);
+        if (isPartial()) {
+            target.append((UNKNOWN_SKIPPED == skipped)
+                                  ? String.format(PARTIAL_UNKNOWN)
+                                  : String.format(PARTIAL, skipped));
+        }
+        return target;
     }
 
-    private static void buildNewLine(final StringBuilder result, final int indent) {
-        result.append(NEW_LINE);
-        for (int i = 0; i < indent; ++i) {
-            result.append(INDENT);
-        }
+    /**
+     * Describes the structural differences between this report (as expected) and an {@code other} one (as actual),
+     * e.g. as the message of a failed comparison to a golden report:
+     * <pre>
+     * assertTrue(expected.diff(actual), expected.equals(actual));
+     * </pre>
+     * Nested lists, arrays, maps and map entries are compared element by element. Only the changed elements are
+     * rendered, prefixed by {@code -} (expected) or {@code +} (actual) and their path (e.g. {@code [3]{name}}),
+     * together with some unchanged ones as context. Contiguous changes form a hunk that starts with a line like
+     * {@code @@ [1] @@}. The result is limited to about 1000 lines.
+     *
+     * @return The rendered differences, an empty string if the entries of both reports are equal.
+     * @throws NullPointerException if {@code other} is {@code null}.
+     */
+    public final String diff(final Report other) throws NullPointerException {
+        return Differ.diff(entries, other.entries);
     }
 
     private boolean equalsInner(final Report other) {
         return entries.equals(other.entries);
     }
-
-    private static class ArrayIterator implements Iterator<Object> {
-
-        private final Object array;
-        private final int limit;
-
-        private int index = 0;
-
-        private ArrayIterator(final Object array) {
-            this.array = array;
-            this.limit = Array.getLength(array);
-        }
-
-        @Override
-        public final boolean hasNext() {
-            return index < limit;
-        }
-
-        @Override
-        public final Object next() {
-            if (hasNext()){
-                final Object result = Array.get(array, index);
-                index += 1;
-                return result;
-
-            } else {
-                throw new NoSuchElementException(String.format("index(%d) >= limit(%d)", index, limit));
-            }
-        }
-
-        @Override
-        public final void remove() {
-            throw new UnsupportedOperationException("not supported");
-        }
-    }
 }
@@ -0,0 +1,494 @@
+package net.team33.test;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Writes the entries of a {@link Report} in a machine-readable form to an {@link Appendable}, entry by entry, so
+ * the memory needed does not depend on the size of the report.
+ * <p/>
+ * A writer is used by {@link #begin()}, any number of {@link #entry(Object)} and finally {@link #end(long)}, either
+ * by {@link #write(Report)} or live by {@link Reporter#test(Iterator, Reporter.Tester, Reporter.Policy, ReportWriter)}.
+ * An instance is not thread-safe and is intended to be used only once.
+ */
+public abstract class ReportWriter {
+
+    private static final String NEW_LINE = "\n";
+
+    private final Appendable out;
+    private final RenderOptions options;
+
+    private ReportWriter(final Appendable out, final RenderOptions options) {
+        this.out = Objects.requireNonNull(out);
+        this.options = Objects.requireNonNull(options);
+    }
+
+    /**
+     * @see #jsonLines(Appendable, RenderOptions)
+     */
+    public static ReportWriter jsonLines(final Appendable target) throws NullPointerException {
+        return jsonLines(target, RenderOptions.DEFAULT);
+    }
+
+    /**
+     * Retrieves a writer that writes each entry as a line of its own (<a href="https://jsonlines.org">JSON
+     * Lines</a>), like
+     * <pre>
+     * {"index":0,"entry":"a reported message"}
+     * {"index":1,"entry":{"expected":[1,2],"but was":[1,3]}}
+     * {"skipped":42}
+     * </pre>
+     * Strings, numbers, booleans and {@code null} are written as such, maps as objects (their keys as strings),
+     * map entries as {@code {"key":...,"value":...}}, collections, other iterables and arrays as arrays and
+     * anything else as the string of its {@link Object#toString()}. The last line only appears if the report is
+     * {@linkplain Report#isPartial() partial}, as {@code {"skipped":null}} if the number of skipped subjects is
+     * {@linkplain Report#UNKNOWN_SKIPPED unknown}.
+     * <p/>
+     * Nested structures are written up to the {@linkplain RenderOptions#getMaxDepth() max depth} and
+     * {@linkplain RenderOptions#getMaxElements() max elements} of the given {@code options}, beyond as
+     * {@code "[...]"} or a final {@code "..."} element. A structure that (indirectly) contains itself is written as
+     * {@code "<cycle>"} where it recurs. The {@linkplain RenderOptions#getMaxChars() max chars} do not apply.
+     *
+     * @throws NullPointerException if any parameter is {@code null}.
+     */
+    public static ReportWriter jsonLines(final Appendable target, final RenderOptions options)
+            throws NullPointerException {
+        return new JsonLines(target, options);
+    }
+
+    /**
+     * @see #junitXml(Appendable, String, RenderOptions)
+     */
+    public static ReportWriter junitXml(final Appendable target, final String suiteName)
+            throws NullPointerException {
+        return junitXml(target, suiteName, RenderOptions.DEFAULT);
+    }
+
+    /**
+     * Retrieves a writer that writes a JUnit-compatible XML test suite, each entry as a failed test case, like
+     * <pre>
+     * &lt;testsuite name="suite"&gt;
+     *   &lt;testcase classname="suite" name="entry 0"&gt;
+     *     &lt;failure type="java.lang.String"&gt;a reported message&lt;/failure&gt;
+     *   &lt;/testcase&gt;
+     *   &lt;testcase classname="suite" name="skipped"&gt;&lt;skipped message="42 subject(s) skipped"/&gt;&lt;/testcase&gt;
+     * &lt;/testsuite&gt;
+     * </pre>
+     * Each entry is rendered as by {@link Report#writeTo(Appendable, RenderOptions)}, respecting the given
+     * {@code options} per entry. The suite carries no counts, as they are unknown until its end; consumers count
+     * its test cases instead. The skipped test case only appears if the report is
+     * {@linkplain Report#isPartial() partial}, with the message "remaining subjects skipped" if the number of
+     * skipped subjects is {@linkplain Report#UNKNOWN_SKIPPED unknown}.
+     *
+     * @throws NullPointerException if any parameter is {@code null}.
+     */
+    public static ReportWriter junitXml(final Appendable target, final String suiteName, final RenderOptions options)
+            throws NullPointerException {
+        return new JunitXml(target, Objects.requireNonNull(suiteName), options);
+    }
+
+    /**
+     * Writes a whole {@code report}: its entries and whether it is {@linkplain Report#isPartial() partial}.
+     *
+     * @throws IOException as thrown by the target.
+     */
+    public final void write(final Report report) throws IOException {
+        begin();
+        for (final Object entry : report.asList()) {
+            entry(entry);
+        }
+        end(report.getSkipped());
+    }
+
+    /**
+     * Writes anything that precedes the entries.
+     *
+     * @throws IOException as thrown by the target.
+     */
+    public abstract void begin() throws IOException;
+
+    /**
+     * Writes a single entry.
+     *
+     * @throws IOException as thrown by the target.
+     */
+    public abstract void entry(Object entry) throws IOException;
+
+    /**
+     * Writes anything that follows the entries, including the number of {@code skipped} subjects, if any, and
+     * flushes the target if it is {@link Flushable}. The number of {@code skipped} subjects may be
+     * {@link Report#UNKNOWN_SKIPPED}.
+     *
+     * @throws IOException as thrown by the target.
+     */
+    public abstract void end(long skipped) throws IOException;
+
+    /**
+     * Flushes the target if it is {@link Flushable}.
+     */
+    final void flush() throws IOException {
+        if (out instanceof Flushable) {
+            ((Flushable) out).flush();
+        }
+    }
+
+    private static final class JsonLines extends ReportWriter {
+
+        private static final String ENTRY = "{\"index\":%d,\"entry\":";
+        private static final String SKIPPED = "{\"skipped\":%d}";
+        private static final String SKIPPED_UNKNOWN = "{\"skipped\":null}";
+        private static final String ELIDED = "[...]";
+        private static final String ELLIPSIS = "...";
+        private static final String CYCLE = "<cycle>";
+        private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+        private final Deque<Object> work = new ArrayDeque<>();
+        private final Set<Object> path = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final StringBuilder scratch = new StringBuilder(0);
+        private long index = 0;
+
+        private JsonLines(final Appendable out, final RenderOptions options) {
+            super(out, options);
+        }
+
+        private static boolean isIntegral(final Object subject) {
+            return (subject instanceof Integer) || (subject instanceof Long) || (subject instanceof Short)
+                    || (subject instanceof Byte) || (subject instanceof BigInteger) || (subject instanceof BigDecimal);
+        }
+
+        private static boolean isFinite(final Object subject) {
+            return ((subject instanceof Double) && Double.isFinite((Double) subject))
+                    || ((subject instanceof Float) && Float.isFinite((Float) subject));
+        }
+
+        private static Iterator<?> iterator(final Object subject) {
+            if (subject instanceof Map<?, ?>) {
+                return ((Map<?, ?>) subject).entrySet().iterator();
+            } else if (subject instanceof Iterable<?>) {
+                return ((Iterable<?>) subject).iterator();
+            } else if (subject instanceof Object[]) {
+                return Arrays.asList((Object[]) subject).iterator();
+            } else {
+                return null;
+            }
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void entry(final Object entry) throws IOException {
+            super.out.append(format(ENTRY, index++));
+            value(entry);
+            super.out.append("}").append(NEW_LINE);
+        }
+
+        @Override
+        public void end(final long skipped) throws IOException {
+            if (Report.UNKNOWN_SKIPPED == skipped) {
+                super.out.append(SKIPPED_UNKNOWN).append(NEW_LINE);
+            } else if (0 < skipped) {
+                super.out.append(format(SKIPPED, skipped)).append(NEW_LINE);
+            }
+            flush();
+        }
+
+        private void value(final Object subject) throws IOException {
+            work.push(new Item(subject, 1));
+            while (!work.isEmpty()) {
+                final Object next = work.peek();
+                if (next instanceof Frame) {
+                    step((Frame) next);
+                } else {
+                    work.pop();
+                    if (next instanceof Item) {
+                        build((Item) next);
+                    } else {
+                        super.out.append((String) next);
+                    }
+                }
+            }
+        }
+
+        private void build(final Item item) throws IOException {
+            final Object subject = item.subject;
+            if ((null == subject) || (subject instanceof Boolean) || isIntegral(subject) || isFinite(subject)) {
+                super.out.append(String.valueOf(subject));
+            } else if (subject instanceof Map.Entry<?, ?>) {
+                final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) subject;
+                work.push("}");
+                work.push(new Item(entry.getValue(), item.depth + 1));
+                work.push(",\"value\":");
+                work.push(new Item(entry.getKey(), item.depth + 1));
+                super.out.append("{\"key\":");
+            } else {
+                final Renderer.Elements primitives = Renderer.primitives(subject);
+                final Iterator<?> iterator = (null == primitives) ? iterator(subject) : null;
+                if (null != primitives) {
+                    if (item.depth > super.options.getMaxDepth()) {
+                        string(ELIDED);
+                    } else {
+                        primitives(subject, primitives);
+                    }
+                } else if (null == iterator) {
+                    string(String.valueOf(subject));
+                } else if (item.depth > super.options.getMaxDepth()) {
+                    string(ELIDED);
+                } else if (!path.add(subject)) {
+                    string(CYCLE);
+                } else {
+                    final boolean object = subject instanceof Map<?, ?>;
+                    super.out.append(object ? "{" : "[");
+                    work.push(new Frame(subject, iterator, object, item.depth));
+                }
+            }
+        }
+
+        /**
+         * Writes an array of primitives by direct indexed access, without boxing its elements. Characters and
+         * non-finite floating point numbers are written as strings.
+         */
+        private void primitives(final Object subject, final Renderer.Elements elements) throws IOException {
+            final int length = Array.getLength(subject);
+            final int limit = Math.min(length, super.options.getMaxElements());
+            final boolean chars = subject instanceof char[];
+            final boolean floating = (subject instanceof double[]) || (subject instanceof float[]);
+            super.out.append("[");
+            for (int index = 0; index < limit; ++index) {
+                if (0 < index) {
+                    super.out.append(",");
+                }
+                scratch.setLength(0);
+                elements.appendTo(scratch, index);
+                // "NaN", "Infinity" and "-Infinity" end with a letter, any finite number with a digit ...
+                if (chars || (floating && Character.isLetter(scratch.charAt(scratch.length() - 1)))) {
+                    string(scratch.toString());
+                } else {
+                    super.out.append(scratch);
+                }
+            }
+            if (limit < length) {
+                super.out.append((0 < limit) ? "," : "");
+                string(ELLIPSIS);
+            }
+            super.out.append("]");
+        }
+
+        private void step(final Frame frame) throws IOException {
+            if (frame.iterator.hasNext() && (frame.count < super.options.getMaxElements())) {
+                final Object element = frame.iterator.next();
+                if (0 < frame.count) {
+                    super.out.append(",");
+                }
+                frame.count += 1;
+                if (frame.object) {
+                    final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) element;
+                    string(String.valueOf(entry.getKey()));
+                    super.out.append(":");
+                    work.push(new Item(entry.getValue(), frame.depth + 1));
+                } else {
+                    work.push(new Item(element, frame.depth + 1));
+                }
+            } else {
+                if (frame.iterator.hasNext()) {
+                    super.out.append((0 < frame.count) ? "," : "");
+                    string(ELLIPSIS);
+                    if (frame.object) {
+                        super.out.append(":");
+                        string(ELLIPSIS);
+                    }
+                }
+                super.out.append(frame.object ? "}" : "]");
+                work.pop();
+                path.remove(frame.subject);
+            }
+        }
+
+        private void string(final String value) throws IOException {
+            final Appendable out = super.out;
+            out.append('"');
+            for (int index = 0; index < value.length(); ++index) {
+                final char c = value.charAt(index);
+                switch (c) {
+                    case '"':
+                        out.append("\\\"");
+                        break;
+                    case '\\':
+                        out.append("\\\\");
+                        break;
+                    case '\n':
+                        out.append("\\n");
+                        break;
+                    case '\r':
+                        out.append("\\r");
+                        break;
+                    case '\t':
+                        out.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            out.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xf]);
+                        } else {
+                            out.append(c);
+                        }
+                        break;
+                }
+            }
+            out.append('"');
+        }
+    }
+
+    private static final class JunitXml extends ReportWriter {
+
+        private static final String HEAD = "<?xml version=\"1.0\"?>\n<testsuite name=\"%s\">\n";
+        private static final String ENTRY_START = "  <testcase classname=\"%s\" name=\"entry %d\">\n" +
+                "    <failure type=\"%s\">";
+        private static final String ENTRY_END = "</failure>\n  </testcase>\n";
+        private static final String SKIPPED = "  <testcase classname=\"%s\" name=\"skipped\">" +
+                "<skipped message=\"%d subject(s) skipped\"/></testcase>\n";
+        private static final String SKIPPED_UNKNOWN = "  <testcase classname=\"%s\" name=\"skipped\">" +
+                "<skipped message=\"remaining subjects skipped\"/></testcase>\n";
+        private static final String TAIL = "</testsuite>\n";
+
+        private final String suiteName;
+        private final Appendable text;
+        private long index = 0;
+
+        private JunitXml(final Appendable out, final String suiteName, final RenderOptions options) {
+            super(out, options);
+            this.suiteName = escaped(suiteName);
+            this.text = new XmlText(out);
+        }
+
+        private static String escaped(final String value) {
+            try {
+                return new XmlText(new StringBuilder(value.length())).append(value).toString();
+            } catch (final IOException caught) {
+                // a StringBuilder does not throw IOExceptions ...
+                throw new IllegalStateException(caught);
+            }
+        }
+
+        @Override
+        public void begin() throws IOException {
+            super.out.append(format(HEAD, suiteName));
+        }
+
+        @Override
+        public void entry(final Object entry) throws IOException {
+            final String type = (null == entry) ? "null" : escaped(entry.getClass().getName());
+            super.out.append(format(ENTRY_START, suiteName, index++, type));
+            new Renderer(text, super.options).render(entry);
+            super.out.append(ENTRY_END);
+        }
+
+        @Override
+        public void end(final long skipped) throws IOException {
+            if (Report.UNKNOWN_SKIPPED == skipped) {
+                super.out.append(format(SKIPPED_UNKNOWN, suiteName));
+            } else if (0 < skipped) {
+                super.out.append(format(SKIPPED, suiteName, skipped));
+            }
+            super.out.append(TAIL);
+            flush();
+        }
+    }
+
+    /**
+     * Escapes any text appended for use as XML content or attribute value. Characters that are not allowed in
+     * XML 1.0 are replaced by {@code ?}.
+     */
+    private static final class XmlText implements Appendable {
+
+        private final Appendable out;
+
+        private XmlText(final Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq) throws IOException {
+            final CharSequence subject = String.valueOf(csq);
+            return append(subject, 0, subject.length());
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end) throws IOException {
+            final CharSequence subject = String.valueOf(csq);
+            for (int index = start; index < end; ++index) {
+                append(subject.charAt(index));
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char c) throws IOException {
+            switch (c) {
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '"':
+                    out.append("&quot;");
+                    break;
+                default:
+                    final boolean legal = (c >= 0x20) ? (c < 0xfffe) : ((c == '\t') || (c == '\n') || (c == '\r'));
+                    out.append(legal ? c : '?');
+                    break;
+            }
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return out.toString();
+        }
+    }
+
+    private static final class Item {
+
+        private final Object subject;
+        private final int depth;
+
+        private Item(final Object subject, final int depth) {
+            this.subject = subject;
+            this.depth = depth;
+        }
+    }
+
+    private static final class Frame {
+
+        private final Object subject;
+        private final Iterator<?> iterator;
+        private final boolean object;
+        private final int depth;
+        private int count = 0;
+
+        private Frame(final Object subject, final Iterator<?> iterator, final boolean object, final int depth) {
+            this.subject = subject;
+            this.iterator = iterator;
+            this.object = object;
+            this.depth = depth;
+        }
+    }
+}
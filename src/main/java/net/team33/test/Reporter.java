@@ -1,28 +1,266 @@
 package net.team33.test;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
 
 public class Reporter {
 
-    private final List<Object> report = new LinkedList<>();
+    private static final int BATCH_SIZE = 16;
+    private static final int MAX_PENDING_BATCHES = 4 * Runtime.getRuntime().availableProcessors();
+    private static final long UNKNOWN_SIZE = -1;
+    private static final Comparator<Timing.Sample> SLOWEST_FIRST =
+            (left, right) -> Long.compare(right.getNanos(), left.getNanos());
+
+    private ChunkedList report = new ChunkedList();
 
     public static <S> Report test(final Iterable<S> subjects, final Tester<? super S> tester) {
-        return test(subjects.iterator(), tester);
+        return test(subjects, tester, Policy.UNLIMITED);
     }
 
     public static <S> Report test(final Iterator<S> subjects, final Tester<? super S> tester) {
-        final Reporter context = new Reporter();
-        while (subjects.hasNext()) {
-            tester.test(context, subjects.next());
+        return test(subjects, tester, Policy.UNLIMITED);
+    }
+
+    /**
+     * @see #test(Iterator, Tester, Policy)
+     */
+    public static <S> Report test(final Iterable<S> subjects, final Tester<? super S> tester, final Policy policy) {
+        return test(subjects.iterator(), size(subjects), tester, policy);
+    }
+
+    /**
+     * Tests the {@code subjects} sequentially, as far as a given {@code policy} allows.
+     * <p/>
+     * Once the run is stopped, no further subjects are retrieved, so even an unbounded sequence of subjects may be
+     * stopped by a {@linkplain Policy#withBudget(Duration) budget}. The number of subjects left is unknown then,
+     * unless there are none, so the report is {@linkplain Report#isPartial() partial} with an unknown number of
+     * {@linkplain Report#getSkipped() skipped} subjects. Use {@link #test(Iterable, Tester, Policy)} with a
+     * {@link Collection} to get the exact number.
+     *
+     * @throws NullPointerException if any parameter is {@code null}.
+     */
+    public static <S> Report test(final Iterator<S> subjects, final Tester<? super S> tester, final Policy policy) {
+        return test(subjects, UNKNOWN_SIZE, tester, policy);
+    }
+
+    private static <S> Report test(final Iterator<S> subjects, final long size, final Tester<? super S> tester,
+                                   final Policy policy) {
+        try (final Execution<S> execution = new Execution<>(tester, policy)) {
+            final Reporter context = new Reporter();
+            long retrieved = 0;
+            long skipped = 0;
+            while (!execution.isStopped() && subjects.hasNext()) {
+                retrieved += 1;
+                if (!execution.test(context, subjects.next())) {
+                    skipped += 1;
+                }
+            }
+            return new Report(context.handOver(), skipped(subjects, size, retrieved, skipped), execution.timing());
+        }
+    }
+
+    /**
+     * Supplies the number of {@code subjects} if they are a {@link Collection}, otherwise {@link #UNKNOWN_SIZE}.
+     */
+    private static long size(final Iterable<?> subjects) {
+        return (subjects instanceof Collection<?>) ? ((Collection<?>) subjects).size() : UNKNOWN_SIZE;
+    }
+
+    /**
+     * Determines the number of skipped subjects without retrieving the subjects left: {@code skipped} plus the
+     * subjects left, if their number is known, otherwise {@link Report#UNKNOWN_SKIPPED}.
+     */
+    private static long skipped(final Iterator<?> subjects, final long size, final long retrieved,
+                                final long skipped) {
+        if (!subjects.hasNext()) {
+            return skipped;
+        }
+        return (0 > size) ? Report.UNKNOWN_SKIPPED : (skipped + size - retrieved);
+    }
+
+    /**
+     * Tests the {@code subjects} sequentially, like {@link #test(Iterator, Tester, Policy)}, but instead of
+     * collecting the entries into a {@link Report}, passes them to a given {@code writer} as soon as the subject
+     * they belong to has been tested (and flushes it then). So the memory needed does not depend on the number of
+     * entries. Once the run is stopped, no further subjects are retrieved, so the number of skipped subjects passed
+     * to {@link ReportWriter#end(long)} is {@link Report#UNKNOWN_SKIPPED} if there are any left.
+     *
+     * @return The number of entries written, {@code 0} if all tested subjects passed.
+     * @throws NullPointerException if any parameter is {@code null}.
+     * @throws IOException          as thrown by the {@code writer}.
+     */
+    public static <S> long test(final Iterator<S> subjects, final Tester<? super S> tester, final Policy policy,
+                                final ReportWriter writer) throws IOException {
+        try (final Execution<S> execution = new Execution<>(tester, policy)) {
+            final Reporter context = new Reporter();
+            long skipped = 0;
+            long written = 0;
+            writer.begin();
+            while (!execution.isStopped() && subjects.hasNext()) {
+                if (!execution.test(context, subjects.next())) {
+                    skipped += 1;
+                } else if (!context.report.isEmpty()) {
+                    for (final Object entry : context.handOver()) {
+                        writer.entry(entry);
+                        written += 1;
+                    }
+                    writer.flush();
+                }
+            }
+            writer.end(skipped(subjects, UNKNOWN_SIZE, 0, skipped));
+            return written;
         }
-        return new Report(context.report);
+    }
+
+    /**
+     * Tests the {@code subjects} in parallel using the {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * @see #test(Iterator, Tester, Executor)
+     */
+    public static <S> Report testParallel(final Iterable<S> subjects, final Tester<? super S> tester) {
+        return test(subjects, tester, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @see #test(Iterator, Tester, Executor)
+     */
+    public static <S> Report test(final Iterable<S> subjects, final Tester<? super S> tester,
+                                  final Executor executor) {
+        return test(subjects, tester, executor, Policy.UNLIMITED);
+    }
+
+    /**
+     * Like {@link #test(Iterator, Tester, Executor, Policy)}, but determines the exact number of
+     * {@linkplain Report#getSkipped() skipped} subjects, if the {@code subjects} are a {@link Collection}.
+     */
+    public static <S> Report test(final Iterable<S> subjects, final Tester<? super S> tester,
+                                  final Executor executor, final Policy policy) {
+        return test(subjects.iterator(), size(subjects), tester, executor, policy);
+    }
+
+    /**
+     * Tests the {@code subjects} in parallel, in batches of consecutive subjects, each by a task that is executed
+     * by a given {@code executor} and reports to its own {@link Reporter}. The {@code tester} therefore must be
+     * thread-safe.
+     * <p/>
+     * The entries of the tasks are merged in order of the subjects, so the result equals the one of a sequential
+     * {@linkplain #test(Iterator, Tester) test}. The subjects are retrieved by the calling thread, only as far
+     * ahead as a limited number of pending batches requires, so even a huge (or lazy) sequence of subjects is
+     * supported.
+     * <p/>
+     * Any {@link Executor} is supported, e.g. one that executes each task in a virtual thread.
+     *
+     * @throws NullPointerException if any parameter is {@code null}.
+     * @throws RuntimeException     or {@link Error} as thrown by the {@code tester}.
+     */
+    public static <S> Report test(final Iterator<S> subjects, final Tester<? super S> tester,
+                                  final Executor executor) {
+        return test(subjects, tester, executor, Policy.UNLIMITED);
+    }
+
+    /**
+     * Tests the {@code subjects} in parallel, like {@link #test(Iterator, Tester, Executor)}, as far as a given
+     * {@code policy} allows.
+     * <p/>
+     * Once the run is stopped, any pending task skips its remaining subjects promptly and no further subjects are
+     * retrieved, as by {@link #test(Iterator, Tester, Policy)}. Which subjects have been tested when the run stops
+     * may vary from run to run.
+     *
+     * @throws NullPointerException if any parameter is {@code null}.
+     * @throws RuntimeException     or {@link Error} as thrown by the {@code tester}.
+     */
+    public static <S> Report test(final Iterator<S> subjects, final Tester<? super S> tester,
+                                  final Executor executor, final Policy policy) {
+        return test(subjects, UNKNOWN_SIZE, tester, executor, policy);
+    }
+
+    private static <S> Report test(final Iterator<S> subjects, final long size, final Tester<? super S> tester,
+                                   final Executor executor, final Policy policy) {
+        Objects.requireNonNull(executor);
+        try (final Execution<S> execution = new Execution<>(tester, policy)) {
+            final ChunkedList result = new ChunkedList();
+            final Deque<CompletableFuture<Outcome>> pending = new ArrayDeque<>(MAX_PENDING_BATCHES);
+            long retrieved = 0;
+            long skipped = 0;
+            try {
+                while (!execution.isStopped() && subjects.hasNext()) {
+                    final List<S> batch = new ArrayList<>(BATCH_SIZE);
+                    while (subjects.hasNext() && (batch.size() < BATCH_SIZE)) {
+                        batch.add(subjects.next());
+                    }
+                    retrieved += batch.size();
+                    pending.add(CompletableFuture.supplyAsync(() -> execution.testBatch(batch), executor));
+                    if (MAX_PENDING_BATCHES <= pending.size()) {
+                        final Outcome outcome = join(pending.remove());
+                        result.appendAll(outcome.entries);
+                        skipped += outcome.skipped;
+                    }
+                }
+                while (!pending.isEmpty()) {
+                    final Outcome outcome = join(pending.remove());
+                    result.appendAll(outcome.entries);
+                    skipped += outcome.skipped;
+                }
+            } catch (final RuntimeException | Error caught) {
+                // no tester call shall happen once this run has failed ...
+                execution.abort(pending);
+                throw caught;
+            }
+            return new Report(result, skipped(subjects, size, retrieved, skipped), execution.timing());
+        }
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException caught) {
+            final Throwable cause = caught.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw caught;
+            }
+        }
+    }
+
+    /**
+     * Hands over the entries reported so far, that this instance will no longer touch.
+     */
+    private ChunkedList handOver() {
+        final ChunkedList result = report;
+        report = new ChunkedList();
+        return result;
     }
 
     public final Reporter report(final Object entry) {
-        report.add(entry);
+        report.append(entry);
         return this;
     }
 
@@ -30,18 +268,122 @@ public class Reporter {
         return subject || report(elseToBeReported).than(false);
     }
 
+    /**
+     * Like {@link #expectTrue(boolean, Object)}, but retrieves the entry to be reported only if necessary.
+     */
+    public final boolean expectTrueLazy(final boolean subject, final Supplier<?> elseToBeReported) {
+        return subject || report(elseToBeReported.get()).than(false);
+    }
+
+    /**
+     * Like {@link #expectTrue(boolean, Object)}, but formats the message to be reported only if necessary.
+     * The {@code args} are still boxed and wrapped into an array on each call, so use
+     * {@link #expectTrueLazy(boolean, Supplier)} where even that matters.
+     */
+    public final boolean expectTrue(final boolean subject, final String elseFormat, final Object... args) {
+        return subject || report(String.format(elseFormat, args)).than(false);
+    }
+
     public final boolean expectFalse(final boolean subject, final Object elseToBeReported) {
         return !subject || report(elseToBeReported).than(false);
     }
 
+    /**
+     * Like {@link #expectFalse(boolean, Object)}, but retrieves the entry to be reported only if necessary.
+     */
+    public final boolean expectFalseLazy(final boolean subject, final Supplier<?> elseToBeReported) {
+        return !subject || report(elseToBeReported.get()).than(false);
+    }
+
+    /**
+     * Like {@link #expectFalse(boolean, Object)}, but formats the message to be reported only if necessary.
+     * The {@code args} are still boxed and wrapped into an array on each call.
+     */
+    public final boolean expectFalse(final boolean subject, final String elseFormat, final Object... args) {
+        return !subject || report(String.format(elseFormat, args)).than(false);
+    }
+
     public final boolean expectEquals(final Object expected, final Object subject, final Object elseToBeReported) {
         return expectTrue(Objects.equals(expected, subject), elseToBeReported);
     }
 
+    /**
+     * Like {@link #expectEquals(Object, Object, Object)}, but retrieves the entry to be reported only if necessary.
+     */
+    public final boolean expectEqualsLazy(final Object expected, final Object subject,
+                                          final Supplier<?> elseToBeReported) {
+        return expectTrueLazy(Objects.equals(expected, subject), elseToBeReported);
+    }
+
+    /**
+     * Like {@link #expectEquals(Object, Object, Object)}, but formats the message to be reported only if necessary.
+     * The {@code args} are still boxed and wrapped into an array on each call.
+     */
+    public final boolean expectEquals(final Object expected, final Object subject,
+                                      final String elseFormat, final Object... args) {
+        return expectTrue(Objects.equals(expected, subject), elseFormat, args);
+    }
+
+    /**
+     * Like {@link #expectEquals(Object, Object, Object)}, but for primitive integral values, without boxing.
+     */
+    public final boolean expectLongEquals(final long expected, final long subject, final Object elseToBeReported) {
+        return expectTrue(expected == subject, elseToBeReported);
+    }
+
+    /**
+     * Like {@link #expectLongEquals(long, long, Object)}, but retrieves the entry to be reported only if necessary.
+     */
+    public final boolean expectLongEqualsLazy(final long expected, final long subject,
+                                              final Supplier<?> elseToBeReported) {
+        return expectTrueLazy(expected == subject, elseToBeReported);
+    }
+
+    /**
+     * Expects a {@code subject} to equal an {@code expected} value within a given tolerance ({@code epsilon}),
+     * without boxing. Like {@code Assert.assertEquals(double, double, double)} of JUnit, two infinities of the same
+     * sign are equal as well as two {@code NaN}s.
+     */
+    public final boolean expectDoubleEquals(final double expected, final double subject, final double epsilon,
+                                            final Object elseToBeReported) {
+        return expectTrue(isNear(expected, subject, epsilon), elseToBeReported);
+    }
+
+    /**
+     * Like {@link #expectDoubleEquals(double, double, double, Object)}, but retrieves the entry to be reported only
+     * if necessary.
+     */
+    public final boolean expectDoubleEqualsLazy(final double expected, final double subject, final double epsilon,
+                                                final Supplier<?> elseToBeReported) {
+        return expectTrueLazy(isNear(expected, subject, epsilon), elseToBeReported);
+    }
+
+    private static boolean isNear(final double expected, final double subject, final double epsilon) {
+        return (0 == Double.compare(expected, subject)) || (Math.abs(expected - subject) <= epsilon);
+    }
+
     public final boolean expectNotEquals(final Object expected, final Object subject, final Object elseToBeReported) {
         return expectFalse(Objects.equals(expected, subject), elseToBeReported);
     }
 
+    /**
+     * Like {@link #expectNotEquals(Object, Object, Object)}, but retrieves the entry to be reported only if
+     * necessary.
+     */
+    public final boolean expectNotEqualsLazy(final Object expected, final Object subject,
+                                             final Supplier<?> elseToBeReported) {
+        return expectFalseLazy(Objects.equals(expected, subject), elseToBeReported);
+    }
+
+    /**
+     * Like {@link #expectNotEquals(Object, Object, Object)}, but formats the message to be reported only if
+     * necessary. The {@code args} are still boxed and wrapped into an array on each call.
+     */
+    public final boolean expectNotEquals(final Object expected, final Object subject,
+                                         final String elseFormat, final Object... args) {
+        return expectFalse(Objects.equals(expected, subject), elseFormat, args);
+    }
+
     private boolean than(final boolean result) {
         return result;
     }
@@ -50,4 +392,320 @@ public class Reporter {
     public interface Tester<S> {
         void test(final Reporter context, final S subject);
     }
+
+    /**
+     * Specifies when a test run is to be stopped early, how long a single subject may take and whether the subjects
+     * are timed.
+     * <p/>
+     * Instances are immutable. Start from {@link #UNLIMITED} and derive as needed, e.g.
+     * <pre>
+     * Reporter.Policy.UNLIMITED.withMaxEntries(100).withBudget(Duration.ofMinutes(10))
+     * </pre>
+     */
+    @SuppressWarnings("PublicInnerClass")
+    public static final class Policy {
+
+        /**
+         * Runs all subjects without any time limit.
+         */
+        public static final Policy UNLIMITED = new Policy(Long.MAX_VALUE, null, null, -1);
+
+        private static final String ILLEGAL_MAX_ENTRIES = "<maxEntries> must be positive but was %d";
+        private static final String ILLEGAL_DURATION = "<%s> must be positive but was %s";
+        private static final String ILLEGAL_SLOWEST = "<slowest> must not be negative but was %d";
+
+        private final long maxEntries;
+        private final Duration budget;
+        private final Duration deadline;
+        private final int slowest;
+
+        private Policy(final long maxEntries, final Duration budget, final Duration deadline, final int slowest) {
+            this.maxEntries = maxEntries;
+            this.budget = budget;
+            this.deadline = deadline;
+            this.slowest = slowest;
+        }
+
+        private static Duration valid(final String name, final Duration duration) {
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException(format(ILLEGAL_DURATION, name, duration));
+            }
+            return duration;
+        }
+
+        /**
+         * Retrieves a derivative that stops a run as soon as the given number of entries has been reported
+         * (fail-fast). A subject that is tested already completes, so the report may contain some more entries.
+         *
+         * @throws IllegalArgumentException if {@code maxEntries} is not positive.
+         */
+        public Policy withMaxEntries(final long maxEntries) {
+            if (1 > maxEntries) {
+                throw new IllegalArgumentException(format(ILLEGAL_MAX_ENTRIES, maxEntries));
+            }
+            return new Policy(maxEntries, budget, deadline, slowest);
+        }
+
+        /**
+         * Retrieves a derivative that stops a run as soon as the given wall-clock {@code budget} is exceeded.
+         * A subject that is tested already completes.
+         *
+         * @throws NullPointerException     if {@code budget} is {@code null}.
+         * @throws IllegalArgumentException if {@code budget} is not positive.
+         */
+        public Policy withBudget(final Duration budget) {
+            return new Policy(maxEntries, valid("budget", budget), deadline, slowest);
+        }
+
+        /**
+         * Retrieves a derivative that watches the test of each single subject. A subject that takes longer than the
+         * given {@code deadline} is reported as an additional entry. A watchdog interrupts the testing thread when
+         * the {@code deadline} is exceeded, so a hung subject that responds to interruption is reported as well,
+         * instead of failing or blocking the run.
+         *
+         * @throws NullPointerException     if {@code deadline} is {@code null}.
+         * @throws IllegalArgumentException if {@code deadline} is not positive.
+         */
+        public Policy withDeadline(final Duration deadline) {
+            return new Policy(maxEntries, budget, valid("deadline", deadline), slowest);
+        }
+
+        /**
+         * Retrieves a derivative that times the test of each single subject, so the resulting report supplies its
+         * {@linkplain Report#getTiming() timing}, including the given number of {@code slowest} subjects.
+         * <p/>
+         * Each thread records into its own histogram, without any synchronization, and the histograms are merged at
+         * the end of the run. Timing does not affect the entries of the report nor its equality.
+         *
+         * @throws IllegalArgumentException if {@code slowest} is negative.
+         */
+        public Policy withTiming(final int slowest) {
+            if (0 > slowest) {
+                throw new IllegalArgumentException(format(ILLEGAL_SLOWEST, slowest));
+            }
+            return new Policy(maxEntries, budget, deadline, slowest);
+        }
+    }
+
+    private static final class Outcome {
+
+        private final ChunkedList entries;
+        private final long skipped;
+
+        private Outcome(final ChunkedList entries, final long skipped) {
+            this.entries = entries;
+            this.skipped = skipped;
+        }
+    }
+
+    /**
+     * Applies a {@link Policy} to a single test run, possibly shared by multiple threads.
+     */
+    private static final class Execution<S> implements AutoCloseable {
+
+        private static final String DEADLINE_EXCEEDED = "subject <%s> exceeded the deadline of %d ms (took %d ms)";
+        private static final String DEADLINE_INTERRUPTED =
+                "subject <%s> has been interrupted after exceeding the deadline of %d ms";
+
+        private final Tester<? super S> tester;
+        private final long maxEntries;
+        private final long budget;
+        private final long deadline;
+        private final long start = System.nanoTime();
+        private final ScheduledExecutorService watchdog;
+        private final AtomicBoolean stopped = new AtomicBoolean(false);
+        private final AtomicInteger running = new AtomicInteger(0);
+        private final AtomicLong entries = new AtomicLong(0);
+        private final int slowest;
+        private final Queue<Recorder> recorded = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<Recorder> recorders;
+
+        private Execution(final Tester<? super S> tester, final Policy policy) {
+            this.tester = Objects.requireNonNull(tester);
+            this.maxEntries = policy.maxEntries;
+            this.budget = (null == policy.budget) ? Long.MAX_VALUE : policy.budget.toNanos();
+            this.deadline = (null == policy.deadline) ? Long.MAX_VALUE : policy.deadline.toNanos();
+            this.watchdog = (null == policy.deadline) ? null : Executors.newSingleThreadScheduledExecutor(task -> {
+                final Thread result = new Thread(task, "Reporter-watchdog");
+                result.setDaemon(true);
+                return result;
+            });
+            this.slowest = policy.slowest;
+            this.recorders = (0 > slowest) ? null : ThreadLocal.withInitial(() -> {
+                final Recorder result = new Recorder(slowest);
+                recorded.add(result);
+                return result;
+            });
+        }
+
+        private boolean isStopped() {
+            if (!stopped.get() && (System.nanoTime() - start > budget)) {
+                stopped.set(true);
+            }
+            return stopped.get();
+        }
+
+        /**
+         * Tests a single {@code subject} unless the run is stopped.
+         *
+         * @return {@code true} if the {@code subject} has been tested, {@code false} if it is skipped.
+         */
+        private boolean test(final Reporter context, final S subject) {
+            if (isStopped()) {
+                return false;
+            }
+            final int before = context.report.size();
+            final long begin = System.nanoTime();
+            if (null == watchdog) {
+                tester.test(context, subject);
+            } else {
+                testWatched(context, subject);
+            }
+            if (null != recorders) {
+                recorders.get().record(subject, System.nanoTime() - begin);
+            }
+            if (entries.addAndGet(context.report.size() - before) >= maxEntries) {
+                stopped.set(true);
+            }
+            return true;
+        }
+
+        /**
+         * Tests a {@code batch} of subjects as far as the run is not stopped.
+         */
+        private Outcome testBatch(final List<S> batch) {
+            running.incrementAndGet();
+            try {
+                final Reporter context = new Reporter();
+                long skipped = 0;
+                for (final S subject : batch) {
+                    if (!test(context, subject)) {
+                        skipped += 1;
+                    }
+                }
+                return new Outcome(context.handOver(), skipped);
+            } finally {
+                if (0 == running.decrementAndGet()) {
+                    synchronized (running) {
+                        running.notifyAll();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Stops the run, cancels the {@code pending} batches and waits for those that are running already, which
+         * skip their remaining subjects promptly.
+         */
+        private void abort(final Collection<? extends CompletableFuture<?>> pending) {
+            stopped.set(true);
+            pending.forEach(future -> future.cancel(false));
+            // a batch that starts from now on sees the run stopped, so it does not call the tester ...
+            synchronized (running) {
+                while (0 < running.get()) {
+                    try {
+                        running.wait();
+                    } catch (final InterruptedException caught) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void testWatched(final Reporter context, final S subject) {
+            final Thread thread = Thread.currentThread();
+            final AtomicBoolean done = new AtomicBoolean(false);
+            final AtomicBoolean interrupted = new AtomicBoolean(false);
+            final long begin = System.nanoTime();
+            final ScheduledFuture<?> alarm = watchdog.schedule(() -> {
+                synchronized (done) {
+                    if (!done.get()) {
+                        interrupted.set(true);
+                        thread.interrupt();
+                    }
+                }
+            }, deadline, TimeUnit.NANOSECONDS);
+            boolean aborted = false;
+            try {
+                tester.test(context, subject);
+            } catch (final RuntimeException caught) {
+                // an exception caused by the interruption is expected ...
+                if (!interrupted.get()) {
+                    throw caught;
+                }
+                aborted = true;
+            } finally {
+                synchronized (done) {
+                    done.set(true);
+                }
+                alarm.cancel(false);
+                if (interrupted.get()) {
+                    // clears the interrupted state ...
+                    // noinspection ResultOfMethodCallIgnored
+                    Thread.interrupted();
+                }
+            }
+            final long elapsed = System.nanoTime() - begin;
+            if (aborted) {
+                context.report(format(DEADLINE_INTERRUPTED, subject, TimeUnit.NANOSECONDS.toMillis(deadline)));
+            } else if (interrupted.get() || (elapsed > deadline)) {
+                context.report(format(DEADLINE_EXCEEDED, subject, TimeUnit.NANOSECONDS.toMillis(deadline),
+                                      TimeUnit.NANOSECONDS.toMillis(elapsed)));
+            }
+        }
+
+        /**
+         * Merges the recordings of all threads. To be called when all subjects have been tested.
+         */
+        private Timing timing() {
+            if (null == recorders) {
+                return Timing.NONE;
+            }
+            final LatencyHistogram histogram = new LatencyHistogram();
+            final List<Timing.Sample> samples = new ArrayList<>(0);
+            for (final Recorder recorder : recorded) {
+                histogram.merge(recorder.histogram);
+                samples.addAll(recorder.slowest);
+            }
+            samples.sort(SLOWEST_FIRST);
+            return new Timing(histogram, new ArrayList<>(samples.subList(0, Math.min(slowest, samples.size()))));
+        }
+
+        @Override
+        public void close() {
+            if (null != watchdog) {
+                watchdog.shutdownNow();
+            }
+            if (null != recorders) {
+                // the recorders of other (pooled) threads are left to be expunged, so release their subjects ...
+                recorded.forEach(recorder -> recorder.slowest.clear());
+                recorders.remove();
+            }
+        }
+    }
+
+    /**
+     * Records the durations of the subjects tested by a single thread.
+     */
+    private static final class Recorder {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final PriorityQueue<Timing.Sample> slowest = new PriorityQueue<>(SLOWEST_FIRST.reversed());
+        private final int limit;
+
+        private Recorder(final int limit) {
+            this.limit = limit;
+        }
+
+        private void record(final Object subject, final long nanos) {
+            histogram.record(nanos);
+            if (slowest.size() < limit) {
+                slowest.add(new Timing.Sample(subject, nanos));
+            } else if ((0 < limit) && (slowest.peek().getNanos() < nanos)) {
+                slowest.poll();
+                slowest.add(new Timing.Sample(subject, nanos));
+            }
+        }
+    }
 }
@@ -0,0 +1,270 @@
+package net.team33.test;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Represents an immutable, compiled set of {@link Key}s that are known only at runtime
+ * (e.g. loaded from a configuration file).
+ * <p/>
+ * Each key is associated with a unique slot in the range [0, {@link #size()}) that corresponds to its position in
+ * the original key collection. Keys and key names are resolved to their slots by a minimal perfect hash that is
+ * computed once on {@linkplain #compile(Collection) compilation}. So a lookup just mixes the (cached)
+ * {@link String#hashCode()} of a name and needs no collision handling but a single final comparison.
+ * Only if some key names share the same {@link String#hashCode()} are the names hashed char by char instead.
+ *
+ * @param <K> The specific type of the keys.
+ */
+public final class Schema<K extends Schema.Key> {
+
+    private static final String DUPLICATE_NAME = "Duplicate key name <%s>";
+    private static final int FNV_PRIME = 0x01000193;
+    private static final int GOLDEN_GAMMA = 0x9E3779B9;
+
+    private final List<K> keys;
+    private final Set<K> keySet;
+    // Whether the names are hashed char by char, as some of them share the same String.hashCode() ...
+    private final boolean seeded;
+    // Per bucket: either a hash seed (> 0) or an encoded direct position (< 0) ...
+    private final int[] displacements;
+    private final String[] names;
+    private final int[] slots;
+
+    private Schema(final List<K> keys) {
+        final int size = keys.size();
+        this.keys = unmodifiableList(keys);
+        this.keySet = new KeySet();
+        this.seeded = isAmbiguous(keys);
+        this.displacements = new int[size / 2 + 1];
+        this.names = new String[size];
+        this.slots = new int[size];
+        displace(keys);
+    }
+
+    /**
+     * Compiles a new schema from a given collection of keys.
+     * The slots of the keys will correspond to the iteration order of that collection.
+     *
+     * @throws NullPointerException     if {@code keys} is or contains {@code null} or a key supplies a {@code null}
+     *                                  {@linkplain Key#getName() name}.
+     * @throws IllegalArgumentException if two of the given keys supply the same {@linkplain Key#getName() name}.
+     */
+    public static <K extends Key> Schema<K> compile(final Collection<? extends K> keys) {
+        final Set<String> names = new HashSet<>(keys.size());
+        for (final K key : keys) {
+            if (!names.add(key.getName())) {
+                throw new IllegalArgumentException(format(DUPLICATE_NAME, key.getName()));
+            }
+        }
+        return new Schema<>(new ArrayList<>(keys));
+    }
+
+    private static <K extends Key> boolean isAmbiguous(final List<K> keys) {
+        final Set<Integer> codes = new HashSet<>(keys.size());
+        for (final K key : keys) {
+            if (!codes.add(key.getName().hashCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int hash(final String name, final int seed) {
+        return seeded ? hashSeeded(name, seed) : mix(name.hashCode() ^ (seed * GOLDEN_GAMMA));
+    }
+
+    private static int hashSeeded(final String name, final int seed) {
+        int result = seed ^ GOLDEN_GAMMA;
+        for (int index = 0, length = name.length(); index < length; ++index) {
+            result = (result ^ name.charAt(index)) * FNV_PRIME;
+        }
+        return mix(result);
+    }
+
+    /**
+     * Final avalanche (MurmurHash3 fmix32), a bijection.
+     */
+    private static int mix(final int hash) {
+        int result = hash;
+        result ^= result >>> 16;
+        result *= 0x85ebca6b;
+        result ^= result >>> 13;
+        result *= 0xc2b2ae35;
+        return result ^ (result >>> 16);
+    }
+
+    private static int position(final int hash, final int limit) {
+        return (hash & Integer.MAX_VALUE) % limit;
+    }
+
+    /**
+     * Assigns a displacement to each bucket so that each key name hashes to a distinct position
+     * (compress, hash and displace). Larger buckets are placed first, single ones directly into the remaining gaps.
+     */
+    private void displace(final List<K> keys) {
+        final int size = keys.size();
+        final List<List<Integer>> buckets = new ArrayList<>(displacements.length);
+        for (int index = 0; index < displacements.length; ++index) {
+            buckets.add(new ArrayList<>(2));
+        }
+        for (int slot = 0; slot < size; ++slot) {
+            buckets.get(position(hash(keys.get(slot).getName(), 0), displacements.length)).add(slot);
+        }
+
+        final Integer[] order = new Integer[displacements.length];
+        for (int index = 0; index < order.length; ++index) {
+            order[index] = index;
+        }
+        Arrays.sort(order, (left, right) -> buckets.get(right).size() - buckets.get(left).size());
+
+        final boolean[] occupied = new boolean[size];
+        final int[] positions = new int[size];
+        int free = 0;
+        for (final Integer bucketIndex : order) {
+            final List<Integer> bucket = buckets.get(bucketIndex);
+            if (1 < bucket.size()) {
+                int seed = 1;
+                while (!fits(keys, bucket, seed, occupied, positions)) {
+                    seed += 1;
+                }
+                displacements[bucketIndex] = seed;
+                for (int index = 0; index < bucket.size(); ++index) {
+                    place(keys, bucket.get(index), positions[index], occupied);
+                }
+            } else if (1 == bucket.size()) {
+                while (occupied[free]) {
+                    free += 1;
+                }
+                displacements[bucketIndex] = -free - 1;
+                place(keys, bucket.get(0), free, occupied);
+            }
+        }
+    }
+
+    private boolean fits(final List<K> keys, final List<Integer> bucket, final int seed,
+                         final boolean[] occupied, final int[] positions) {
+        for (int index = 0; index < bucket.size(); ++index) {
+            final int candidate = position(hash(keys.get(bucket.get(index)).getName(), seed), names.length);
+            if (occupied[candidate]) {
+                return false;
+            }
+            for (int other = 0; other < index; ++other) {
+                if (positions[other] == candidate) {
+                    return false;
+                }
+            }
+            positions[index] = candidate;
+        }
+        return true;
+    }
+
+    private void place(final List<K> keys, final int slot, final int position, final boolean[] occupied) {
+        occupied[position] = true;
+        names[position] = keys.get(slot).getName();
+        slots[position] = slot;
+    }
+
+    /**
+     * Supplies the number of keys and therefore the number of slots.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Supplies an immutable list of the keys, each at the position of its slot.
+     */
+    public List<K> keys() {
+        // Already is immutable ...
+        // noinspection ReturnOfCollectionOrArrayField
+        return keys;
+    }
+
+    /**
+     * Supplies an immutable {@link Set} view of the keys in the order of their slots,
+     * whose {@link Set#contains(Object)} is resolved by the perfect hash.
+     */
+    public Set<K> keySet() {
+        // Already is immutable ...
+        // noinspection ReturnOfCollectionOrArrayField
+        return keySet;
+    }
+
+    /**
+     * Supplies the key associated with a given slot.
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is not a valid slot.
+     */
+    public K key(final int index) {
+        return keys.get(index);
+    }
+
+    /**
+     * Supplies the slot of the key with the given {@code name} or {@code -1} if this schema contains no such key.
+     *
+     * @throws NullPointerException if {@code name} is {@code null}.
+     */
+    public int indexOf(final String name) {
+        if (0 == names.length) {
+            return -1;
+        } else {
+            final int displacement = displacements[position(hash(name, 0), displacements.length)];
+            final int position = (0 > displacement)
+                    ? (-displacement - 1)
+                    : position(hash(name, displacement), names.length);
+            return name.equals(names[position]) ? slots[position] : -1;
+        }
+    }
+
+    /**
+     * Supplies the slot of a given {@code key} or {@code -1} if this schema does not contain that key.
+     * Does not fail on {@code null} or on any object that cannot be a key of this schema.
+     */
+    public int indexOf(final Object key) {
+        if (key instanceof Key) {
+            final int result = indexOf(((Key) key).getName());
+            return ((0 > result) || key.equals(keys.get(result))) ? result : -1;
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Specifies a {@link Mapped.Key} that can be identified by its name.
+     */
+    @SuppressWarnings("InterfaceNamingConvention")
+    public interface Key extends Mapped.Key {
+
+        /**
+         * Supplies the name that identifies this key within a {@link Schema}. Must not be {@code null}.
+         */
+        String getName();
+    }
+
+    private class KeySet extends AbstractSet<K> {
+
+        @Override
+        public final Iterator<K> iterator() {
+            return keys.iterator();
+        }
+
+        @Override
+        public final int size() {
+            return names.length;
+        }
+
+        @Override
+        public final boolean contains(final Object o) {
+            return 0 <= indexOf(o);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package net.team33.test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Provides an implementation of {@link Mapped} whose keys are defined by a {@link Schema} at runtime.
+ * <p/>
+ * Just like an {@link EnumMapped} is backed by an array indexed by the ordinals of its keys, a SchemaMapped is backed
+ * by an array indexed by the slots of its keys. Those slots are resolved by the perfect hash of the {@link Schema},
+ * either by key or by {@linkplain #get(String) name}.
+ *
+ * @param <K> The specific type of the keys representing the properties.
+ */
+public class SchemaMapped<K extends Schema.Key> extends Mapped<K> {
+
+    private static final String ILLEGAL_NAME = "Illegal key name <%s>";
+
+    private final SlotMap<K> backing;
+
+    /**
+     * Initiates a new instance backed by a copy of a given {@code mapper}.
+     *
+     * @throws NullPointerException if the {@code mapper} is {@code null}.
+     */
+    @SuppressWarnings("AccessingNonPublicFieldOfAnotherObject")
+    protected SchemaMapped(final Mapper<K, ?> mapper) {
+        backing = new SlotMap<>(mapper.backing.schema(), mapper.backing.slots().clone(), false);
+    }
+
+    private static int indexOf(final Schema<?> schema, final String name) {
+        final int result = schema.indexOf(name);
+        if (0 > result) {
+            throw new IllegalArgumentException(format(ILLEGAL_NAME, name));
+        }
+        return result;
+    }
+
+    @Override
+    public final Map<K, Object> asMap() {
+        // Already is immutable ...
+        // noinspection ReturnOfCollectionOrArrayField
+        return backing;
+    }
+
+    /**
+     * Supplies the underlying {@link Schema}.
+     */
+    public final Schema<K> getSchema() {
+        return backing.schema();
+    }
+
+    /**
+     * Retrieves the property value specified by its key {@code name}.
+     *
+     * @throws NullPointerException     if {@code name} is {@code null}.
+     * @throws IllegalArgumentException if the underlying {@link Schema} does not contain a key with that name.
+     * @throws ClassCastException       if not applied in the correct class context.
+     */
+    public final <T> T get(final String name) {
+        // Causes a ClassCastException just like an explicit outer cast which otherwise were necessary ...
+        @SuppressWarnings("unchecked")
+        final T result = (T) backing.slots()[indexOf(backing.schema(), name)];
+        return result;
+    }
+
+    /**
+     * Provides basic implementations of a mutable counterpart to a {@link SchemaMapped}
+     * intended to be derived as a Builder for a derivation of {@link SchemaMapped}.
+     *
+     * @param <K> The specific type of the keys representing the properties.
+     * @param <B> The final (relevant) derivation of this class
+     */
+    @SuppressWarnings("PublicInnerClass")
+    public abstract static class Mapper<K extends Schema.Key, B extends Mapper<K, B>>
+            extends Mapped.Mutable<K, B> {
+
+        private final SlotMap<K> backing;
+
+        /**
+         * Initiates a new instance by a given {@code schema} that will contain any of its keys,
+         * associated with their {@linkplain Key#getInitial() default values}.
+         *
+         * @throws NullPointerException if {@code schema} is {@code null}.
+         */
+        protected Mapper(final Schema<K> schema) {
+            final Map<K, Object> emptyMap = Collections.emptyMap();
+            this.backing = copy(emptyMap, schema.keys(), true, true,
+                    new SlotMap<>(schema, new Object[schema.size()], true));
+        }
+
+        @Override
+        protected final Set<K> keySet() {
+            return backing.schema().keySet();
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p/>
+         * The result accepts replacing the values of existing keys but will never accept new keys or removal.
+         */
+        @Override
+        public final Map<K, Object> asMap() {
+            // Intended to be modifiable ...
+            // noinspection ReturnOfCollectionOrArrayField
+            return backing;
+        }
+
+        /**
+         * Sets the {@code value} for the key specified by its {@code name}.
+         *
+         * @return {@code this} in its final representation.
+         * @throws NullPointerException     if {@code name} is {@code null} or if {@code value} is {@code null}
+         *                                  and the specified key is not {@linkplain Key#isNullable() nullable}.
+         * @throws ClassCastException       if {@code value} is not assignable to the {@linkplain Key#getValueClass()
+         *                                  class} associated with the specified key.
+         * @throws IllegalArgumentException if the underlying {@link Schema} does not contain a key with that name.
+         */
+        public final B set(final String name, final Object value) {
+            return set(backing.schema().key(indexOf(backing.schema(), name)), value);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package net.team33.test;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * A {@link Map} that contains exactly the keys of a given {@link Schema}, backed by a plain array of values
+ * indexed by the slots of those keys.
+ * <p/>
+ * May be mutable in the sense that values may be replaced, but keys can never be added or removed.
+ */
+class SlotMap<K extends Schema.Key> extends AbstractMap<K, Object> {
+
+    private static final String ILLEGAL_KEY = "Illegal key <%s>";
+
+    private final Schema<K> schema;
+    private final Object[] values;
+    private final boolean mutable;
+    private final Set<Entry<K, Object>> entrySet = new EntrySet();
+
+    SlotMap(final Schema<K> schema, final Object[] values, final boolean mutable) {
+        this.schema = schema;
+        this.values = values;
+        this.mutable = mutable;
+    }
+
+    final Schema<K> schema() {
+        return schema;
+    }
+
+    final Object[] slots() {
+        // Intended to be shared within this package ...
+        // noinspection ReturnOfCollectionOrArrayField
+        return values;
+    }
+
+    @Override
+    public final int size() {
+        return values.length;
+    }
+
+    @Override
+    public final boolean containsKey(final Object key) {
+        return 0 <= schema.indexOf(key);
+    }
+
+    @Override
+    public final Object get(final Object key) {
+        final int index = schema.indexOf(key);
+        return (0 > index) ? null : values[index];
+    }
+
+    /**
+     * @throws UnsupportedOperationException if this map is not mutable.
+     * @throws IllegalArgumentException      if {@code key} is not part of the underlying schema.
+     */
+    @Override
+    public final Object put(final K key, final Object value) {
+        if (mutable) {
+            final int index = schema.indexOf(key);
+            if (0 > index) {
+                throw new IllegalArgumentException(format(ILLEGAL_KEY, key));
+            }
+            final Object result = values[index];
+            values[index] = value;
+            return result;
+        } else {
+            throw new UnsupportedOperationException("not supported");
+        }
+    }
+
+    @Override
+    public final Object remove(final Object key) {
+        throw new UnsupportedOperationException("not supported");
+    }
+
+    @Override
+    public final void clear() {
+        throw new UnsupportedOperationException("not supported");
+    }
+
+    @Override
+    public final Set<Entry<K, Object>> entrySet() {
+        // Is a view and immutable by itself ...
+        // noinspection ReturnOfCollectionOrArrayField
+        return entrySet;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, Object>> {
+
+        @Override
+        public final Iterator<Entry<K, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public final int size() {
+            return values.length;
+        }
+    }
+
+    private class EntryIterator implements Iterator<Entry<K, Object>> {
+
+        private int index = 0;
+
+        @Override
+        public final boolean hasNext() {
+            return index < values.length;
+        }
+
+        @Override
+        public final Entry<K, Object> next() {
+            if (hasNext()) {
+                final Entry<K, Object> result = new SimpleImmutableEntry<>(schema.key(index), values[index]);
+                index += 1;
+                return result;
+
+            } else {
+                throw new NoSuchElementException(format("index(%d) >= limit(%d)", index, values.length));
+            }
+        }
+    }
+}
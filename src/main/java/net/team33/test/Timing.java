@@ -0,0 +1,117 @@
+package net.team33.test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Summarizes the durations of testing the single subjects of a {@linkplain Reporter.Policy#withTiming(int) timed}
+ * test run: some percentiles and the slowest subjects.
+ * <p/>
+ * The percentiles are derived from a logarithmic histogram, so they are accurate within about 3%, while the
+ * {@linkplain #getMax() maximum} and the durations of the {@linkplain #getSlowest() slowest subjects} are exact.
+ * Instances are immutable.
+ */
+public final class Timing {
+
+    /**
+     * Represents a test run that has not been timed.
+     */
+    public static final Timing NONE = new Timing(new LatencyHistogram(), Collections.emptyList());
+
+    private static final String ILLEGAL_QUANTILE = "<quantile> must be in range [0, 1] but was %s";
+    private static final String TO_STRING = "count=%d, p50=%s, p90=%s, p99=%s, max=%s";
+
+    private final LatencyHistogram histogram;
+    private final List<Sample> slowest;
+
+    Timing(final LatencyHistogram histogram, final List<Sample> slowest) {
+        this.histogram = histogram;
+        this.slowest = Collections.unmodifiableList(slowest);
+    }
+
+    /**
+     * Supplies the number of subjects that have been timed.
+     */
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    /**
+     * Supplies the duration that (about) the given {@code quantile} of all timed subjects did not exceed,
+     * {@link Duration#ZERO} if no subject has been timed.
+     *
+     * @throws IllegalArgumentException if {@code quantile} is not in range [0, 1].
+     */
+    public Duration getPercentile(final double quantile) {
+        if (!((0.0 <= quantile) && (quantile <= 1.0))) {
+            throw new IllegalArgumentException(format(ILLEGAL_QUANTILE, quantile));
+        }
+        return Duration.ofNanos(histogram.valueAt(quantile));
+    }
+
+    public Duration getP50() {
+        return getPercentile(0.5);
+    }
+
+    public Duration getP90() {
+        return getPercentile(0.9);
+    }
+
+    public Duration getP99() {
+        return getPercentile(0.99);
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(histogram.getMax());
+    }
+
+    /**
+     * Supplies the slowest subjects, the slowest first, at most as many as requested by
+     * {@link Reporter.Policy#withTiming(int)}.
+     */
+    public List<Sample> getSlowest() {
+        // Already is immutable ...
+        // noinspection ReturnOfCollectionOrArrayField
+        return slowest;
+    }
+
+    @Override
+    public String toString() {
+        return format(TO_STRING, getCount(), getP50(), getP90(), getP99(), getMax());
+    }
+
+    /**
+     * Represents a single timed subject.
+     */
+    @SuppressWarnings("PublicInnerClass")
+    public static final class Sample {
+
+        private final Object subject;
+        private final long nanos;
+
+        Sample(final Object subject, final long nanos) {
+            this.subject = subject;
+            this.nanos = nanos;
+        }
+
+        public Object getSubject() {
+            return subject;
+        }
+
+        public Duration getDuration() {
+            return Duration.ofNanos(nanos);
+        }
+
+        final long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return format("%s: %s", subject, getDuration());
+        }
+    }
+}
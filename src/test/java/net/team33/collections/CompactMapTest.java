@@ -0,0 +1,65 @@
+package net.team33.collections;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompactMapTest {
+
+    private static Map<Object, Object> origin(final int size) {
+        final Map<Object, Object> result = new LinkedHashMap<>(size);
+        for (int index = size; index > 0; --index) {
+            result.put("key." + index, index);
+        }
+        if (0 < size) {
+            result.put(null, "null key");
+            result.put("null value", null);
+        }
+        return result;
+    }
+
+    @Test
+    public void testCopyOf() {
+        for (int size = 0; size < 100; ++size) {
+            final Map<Object, Object> origin = origin(size);
+            final Map<Object, Object> subject = CompactMap.copyOf(origin);
+            assertEquals(origin, subject);
+            assertEquals(subject, origin);
+            assertEquals(origin.hashCode(), subject.hashCode());
+            assertEquals(origin.toString(), subject.toString());
+            assertEquals(new ArrayList<>(origin.keySet()), new ArrayList<>(subject.keySet()));
+            for (final Map.Entry<Object, Object> entry : origin.entrySet()) {
+                assertTrue(subject.containsKey(entry.getKey()));
+                assertEquals(entry.getValue(), subject.get(entry.getKey()));
+            }
+            assertFalse(subject.containsKey("key.0"));
+            assertNull(subject.get("key.0"));
+        }
+    }
+
+    @Test
+    public void testCopyOf_shared() {
+        final Map<Object, Object> subject = CompactMap.copyOf(origin(5));
+        assertSame(subject, CompactMap.copyOf(subject));
+        assertSame(CompactMap.copyOf(Collections.emptyMap()), CompactMap.copyOf(new LinkedHashMap<>(0)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testPut() {
+        CompactMap.copyOf(origin(5)).put("key.0", 0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemove() {
+        CompactMap.copyOf(origin(12)).remove("key.1");
+    }
+}
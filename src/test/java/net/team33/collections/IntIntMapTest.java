@@ -0,0 +1,88 @@
+package net.team33.collections;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntIntMapTest {
+
+    @Test
+    public void testAgainstLinkedHashMap() {
+        final Random random = new Random(278);
+        final Map<Integer, Integer> expected = new LinkedHashMap<>(0);
+        final IntIntMap subject = new IntIntMap();
+        for (int step = 0; step < 10000; ++step) {
+            final int key = random.nextInt(500) - 250;
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.containsKey(key) ? (int) expected.remove(key) : 0, subject.remove(key));
+            } else {
+                final Integer previous = expected.put(key, step);
+                assertEquals((null == previous) ? 0 : (int) previous, subject.put(key, step));
+            }
+        }
+        assertEquals(expected, subject.asMap());
+        assertEquals(subject.asMap(), expected);
+        assertEquals(expected.hashCode(), subject.hashCode());
+        assertEquals(expected.toString(), subject.toString());
+        for (int key = -300; key < 300; ++key) {
+            assertEquals(expected.containsKey(key), subject.containsKey(key));
+            assertEquals(expected.getOrDefault(key, -1).intValue(), subject.getOrDefault(key, -1));
+        }
+    }
+
+    @Test
+    public void testCopy() {
+        final IntIntMap origin = new IntIntMap();
+        origin.put(1, 2);
+        origin.put(3, 4);
+        final IntIntMap subject = new IntIntMap(new IntIntMap(origin, false), true);
+        subject.put(5, 6);
+        assertEquals(origin.size() + 1, subject.size());
+        assertTrue(subject.containsKey(5));
+        assertFalse(origin.containsKey(5));
+    }
+
+    @Test
+    public void testAsMap_remove() {
+        final Map<Integer, Integer> expected = new LinkedHashMap<>(0);
+        final IntIntMap subject = new IntIntMap();
+        for (int key = 0; key < 100; ++key) {
+            expected.put(key, -key);
+            subject.put(key, -key);
+        }
+        expected.entrySet().removeIf(entry -> 0 == entry.getKey() % 3);
+        subject.asMap().entrySet().removeIf(entry -> 0 == entry.getKey() % 3);
+        expected.keySet().remove(50);
+        subject.asMap().keySet().remove(50);
+        assertEquals(expected, subject.asMap());
+        assertEquals(expected.keySet().toString(), subject.asMap().keySet().toString());
+        subject.asMap().clear();
+        assertTrue(subject.isEmpty());
+        assertFalse(subject.containsKey(1));
+        subject.put(1, 2);
+        assertEquals(2, subject.get(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable_asMapClear() {
+        final IntIntMap origin = new IntIntMap();
+        origin.put(1, 2);
+        new IntIntMap(origin, false).asMap().clear();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable() {
+        new IntIntMap(new IntIntMap(), false).put(1, 2);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable_asMap() {
+        new IntIntMap(new IntIntMap(), false).asMap().remove(1);
+    }
+}
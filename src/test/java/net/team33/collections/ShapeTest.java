@@ -0,0 +1,88 @@
+package net.team33.collections;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ShapeTest {
+
+    private static final Shape<String> SHAPE = Shape.of(asList("id", "type", "time"));
+
+    @Test
+    public void testMap() {
+        final Map<String, Object> expected = new LinkedHashMap<>(3);
+        expected.put("id", 278);
+        expected.put("type", "event");
+        expected.put("time", null);
+        final Map<String, Object> subject = SHAPE.map(278, "event", null);
+        assertEquals(expected, subject);
+        assertEquals(subject, expected);
+        assertEquals(expected.hashCode(), subject.hashCode());
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(subject.keySet()));
+    }
+
+    @Test
+    public void testCopyOf() {
+        final Map<String, Object> origin = new LinkedHashMap<>(3);
+        origin.put("time", 0L);
+        origin.put("type", "event");
+        origin.put("id", 278);
+        assertEquals(SHAPE.map(278, "event", 0L), SHAPE.copyOf(origin));
+        assertEquals(SHAPE.copyOf(origin), origin);
+    }
+
+    @Test
+    public void testEquals_sameShape() {
+        assertEquals(SHAPE.map(1, "a", 2L), SHAPE.map(1, "a", 2L));
+        assertNotEquals(SHAPE.map(1, "a", 2L), SHAPE.map(1, "a", 3L));
+    }
+
+    @Test
+    public void testEquals_otherShape() {
+        final Shape<String> other = Shape.of(asList("time", "type", "id"));
+        assertEquals(SHAPE.map(1, "a", 2L), other.map(2L, "a", 1));
+        assertNotEquals(SHAPE.map(1, "a", 2L), other.map(1, "a", 2L));
+    }
+
+    @Test
+    public void testLargeShape() {
+        final List<Integer> keys = new ArrayList<>(100);
+        final Object[] values = new Object[100];
+        for (int index = 0; index < 100; ++index) {
+            keys.add(index * 31);
+            values[index] = index;
+        }
+        final Shape<Integer> shape = Shape.of(keys);
+        final Map<Integer, Object> subject = shape.map(values);
+        for (int index = 0; index < 100; ++index) {
+            assertEquals(index, shape.indexOf(index * 31));
+            assertEquals(index, subject.get(index * 31));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOf_duplicates() {
+        Shape.of(asList("id", "type", "id"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMap_illegalSize() {
+        SHAPE.map(1, "a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCopyOf_illegalKeys() {
+        final Map<String, Object> origin = new LinkedHashMap<>(3);
+        origin.put("id", 278);
+        origin.put("type", "event");
+        origin.put("date", null);
+        SHAPE.copyOf(origin);
+    }
+}
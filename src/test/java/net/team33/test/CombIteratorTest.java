@@ -3,15 +3,20 @@ package net.team33.test;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.AbstractMap.SimpleEntry;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
 import static java.util.Collections.unmodifiableMap;
 
 @SuppressWarnings("unchecked")
@@ -120,6 +125,143 @@ public class CombIteratorTest {
         );
     }
 
+    @Test
+    public void testCursor() {
+        final List<Map<Integer, Integer>> expected = new ArrayList<>(0);
+        new CombIterator<>(ORIGIN_01).forEachRemaining(expected::add);
+
+        final List<Map<Integer, Integer>> result = new ArrayList<>(0);
+        final CombIterator<Integer, Integer> subject = new CombIterator<>(ORIGIN_01);
+        final Map<Integer, Integer> current = subject.current();
+        while (subject.hasNext()) {
+            Assert.assertSame(current, subject.current());
+            result.add(new LinkedHashMap<>(current));
+            subject.advance();
+        }
+        Assert.assertEquals(expected, result);
+        Assert.assertFalse(subject.advance());
+    }
+
+    @Test
+    public void testCursorOriginContainsEmpty() {
+        final CombIterator<Integer, Integer> subject = new CombIterator<>(ORIGIN_02);
+        Assert.assertFalse(subject.hasNext());
+        Assert.assertFalse(subject.advance());
+    }
+
+    @Test
+    public void testConstraints() {
+        final List<Map<Integer, Integer>> expected = new ArrayList<>(0);
+        new CombIterator<>(ORIGIN_01).forEachRemaining(combination -> {
+            if ((combination.get(1) < combination.get(2)) && (2 != combination.get(3))) {
+                expected.add(combination);
+            }
+        });
+
+        final List<Map<Integer, Integer>> result = new ArrayList<>(0);
+        new CombIterator<>(ORIGIN_01, asList(
+                CombIterator.Constraint.<Integer, Integer>of(asList(1, 2), partial -> partial.get(1) < partial.get(2)),
+                CombIterator.Constraint.<Integer, Integer>of(singleton(3), partial -> 2 != partial.get(3))
+        )).forEachRemaining(result::add);
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test
+    public void testConstraintsPruneSubtrees() {
+        final AtomicInteger calls = new AtomicInteger(0);
+        final CombIterator<Integer, Integer> subject = new CombIterator<>(ORIGIN_01, singleton(
+                CombIterator.Constraint.<Integer, Integer>of(singleton(3), partial -> {
+                    calls.incrementAndGet();
+                    return 3 == partial.get(3);
+                })));
+        int count = 0;
+        while (subject.hasNext()) {
+            Assert.assertEquals(Integer.valueOf(3), subject.next().get(3));
+            count += 1;
+        }
+        Assert.assertEquals(9, count);
+        // checked once per value of key 3, not once per combination ...
+        Assert.assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testConstraintsOwnKeysOnly() {
+        final Map<Integer, List<Integer>> origin = new LinkedHashMap<>(0);
+        origin.put(1, asList(0, 1));
+        origin.put(2, asList(0));
+        origin.put(3, asList(0, 1, 2));
+        origin.put(4, asList(0, 1));
+        final AtomicInteger calls = new AtomicInteger(0);
+        final CombIterator<Integer, Integer> subject = new CombIterator<>(origin, singleton(
+                CombIterator.Constraint.<Integer, Integer>of(asList(2, 4), partial -> {
+                    calls.incrementAndGet();
+                    return partial.get(2).equals(partial.get(4));
+                })));
+        int count = 0;
+        while (subject.hasNext()) {
+            Assert.assertEquals(Integer.valueOf(0), subject.next().get(4));
+            count += 1;
+        }
+        Assert.assertEquals(6, count);
+        // checked once per distinct pair of values of keys 2 and 4, not again when only key 3 changes ...
+        Assert.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testConstraintsExcludeAll() {
+        final CombIterator<Integer, Integer> subject = new CombIterator<>(ORIGIN_01, singleton(
+                CombIterator.Constraint.<Integer, Integer>of(asList(1, 3), partial -> false)));
+        Assert.assertFalse(subject.hasNext());
+        Assert.assertFalse(subject.advance());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstraintUnknownKey() {
+        new CombIterator<>(ORIGIN_01, singleton(
+                CombIterator.Constraint.<Integer, Integer>of(singleton(4), partial -> true)));
+    }
+
+    @Test
+    public void testMemoize() {
+        final List<Map<Integer, Integer>> expected = new ArrayList<>(0);
+        new CombIterator<>(ORIGIN_01).forEachRemaining(expected::add);
+
+        final AtomicInteger iterations = new AtomicInteger(0);
+        final Map<Integer, Iterable<Integer>> origin = new TreeMap<>();
+        for (final Map.Entry<Integer, List<Integer>> entry : ORIGIN_01.entrySet()) {
+            origin.put(entry.getKey(), () -> {
+                iterations.incrementAndGet();
+                return entry.getValue().iterator();
+            });
+        }
+
+        final List<Map<Integer, Integer>> result = new ArrayList<>(0);
+        new CombIterator<>(CombIterator.memoize(origin)).forEachRemaining(result::add);
+        Assert.assertEquals(expected, result);
+        Assert.assertEquals(3, iterations.get());
+    }
+
+    @Test
+    public void testMemoizeSpilled() {
+        final List<Map<Integer, Integer>> expected = new ArrayList<>(0);
+        new CombIterator<>(ORIGIN_01).forEachRemaining(expected::add);
+
+        final List<Map<Integer, Integer>> result = new ArrayList<>(0);
+        new CombIterator<>(CombIterator.memoize(ORIGIN_01, 2)).forEachRemaining(result::add);
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMemoizeSingleUseExceedsLimit() {
+        final Iterator<Integer> values = ORIGIN_01.get(ORIGIN_01.keySet().iterator().next()).iterator();
+        CombIterator.memoize(singletonMap(0, (Iterable<Integer>) () -> values), 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMemoizeNegativeLimit() {
+        CombIterator.memoize(ORIGIN_01, -1);
+    }
+
     @Test(expected = NullPointerException.class)
     public void testOriginIsNull() {
         new CombIterator<>(null);
@@ -0,0 +1,258 @@
+package net.team33.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+
+public class CombSpaceTest {
+
+    private static final Map<String, List<Integer>> ORIGIN;
+
+    static {
+        ORIGIN = new LinkedHashMap<>(0);
+        ORIGIN.put("a", asList(1, 2, 3));
+        ORIGIN.put("b", asList(4, 5));
+        ORIGIN.put("c", IntStream.range(0, 7).boxed().collect(Collectors.toList()));
+        ORIGIN.put("d", asList(8, 9, 10, 11));
+    }
+
+    private static List<Map<String, Integer>> expected() {
+        final List<Map<String, Integer>> result = new ArrayList<>(0);
+        new CombIterator<>(ORIGIN).forEachRemaining(result::add);
+        return result;
+    }
+
+    @Test
+    public void testSize() {
+        Assert.assertEquals(3 * 2 * 7 * 4, CombSpace.of(ORIGIN).size());
+        Assert.assertEquals(0, CombSpace.of(emptyMap()).size());
+    }
+
+    @Test
+    public void testGet() {
+        final List<Map<String, Integer>> expected = expected();
+        final CombSpace<String, Integer> subject = CombSpace.of(ORIGIN);
+        for (int index = 0; index < expected.size(); ++index) {
+            Assert.assertEquals(expected.get(index), subject.get(index));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_outOfRange() {
+        CombSpace.of(ORIGIN).get(168);
+    }
+
+    @Test
+    public void testIterator_startAt_skip() {
+        final List<Map<String, Integer>> expected = expected();
+        final CombSpace<String, Integer> subject = CombSpace.of(ORIGIN);
+        for (int index = 0; index <= expected.size(); index += 7) {
+            final List<Map<String, Integer>> result = new ArrayList<>(0);
+            subject.iterator(index).forEachRemaining(result::add);
+            Assert.assertEquals(expected.subList(index, expected.size()), result);
+
+            final CombSpace<String, Integer>.Cursor cursor = subject.iterator().skip(index);
+            Assert.assertEquals(index < expected.size(), cursor.hasNext());
+            if (cursor.hasNext()) {
+                Assert.assertEquals(expected.get(index), cursor.next());
+            }
+        }
+        Assert.assertFalse(subject.iterator(100).skip(Long.MAX_VALUE).hasNext());
+    }
+
+    @Test
+    public void testBigSize() {
+        final Map<Integer, List<Integer>> origin = new LinkedHashMap<>(0);
+        for (int key = 0; key < 20; ++key) {
+            origin.put(key, asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        }
+        final CombSpace<Integer, Integer> subject = CombSpace.of(origin);
+        final BigInteger last = BigInteger.TEN.pow(20).subtract(BigInteger.ONE);
+        Assert.assertEquals(BigInteger.TEN.pow(20), subject.bigSize());
+        for (final Integer value : subject.get(last).values()) {
+            Assert.assertEquals(Integer.valueOf(9), value);
+        }
+        final CombSpace<Integer, Integer>.Cursor cursor = subject.iterator(last);
+        Assert.assertEquals(subject.get(last), cursor.next());
+        Assert.assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void testSpliterator_overflow() {
+        final Map<Integer, List<Integer>> origin = new LinkedHashMap<>(0);
+        for (int key = 0; key < 70; ++key) {
+            origin.put(key, asList(0, 1));
+        }
+        final CombSpace<Integer, Integer> subject = CombSpace.of(origin);
+        final Spliterator<Map<Integer, Integer>> spliterator = subject.spliterator();
+        Assert.assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertEquals(Long.MAX_VALUE, spliterator.estimateSize());
+        Assert.assertEquals(asList(subject.get(0), subject.get(1), subject.get(2)),
+                            subject.stream(true).limit(3).collect(Collectors.toList()));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testSize_overflow() {
+        final Map<Integer, List<Integer>> origin = new LinkedHashMap<>(0);
+        for (int key = 0; key < 20; ++key) {
+            origin.put(key, asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        }
+        CombSpace.of(origin).size();
+    }
+
+    @Test
+    public void testStream() {
+        Assert.assertEquals(expected(), CombSpace.of(ORIGIN).stream(false).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testParallelStream() {
+        Assert.assertEquals(expected(), CombSpace.of(ORIGIN).stream(true).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSplit() {
+        final Spliterator<Map<String, Integer>> subject = CombSpace.of(ORIGIN).spliterator();
+        final Spliterator<Map<String, Integer>> prefix = subject.trySplit();
+        Assert.assertEquals(84, prefix.estimateSize());
+        Assert.assertEquals(84, subject.estimateSize());
+        Assert.assertTrue(subject.hasCharacteristics(Spliterator.SUBSIZED));
+        final List<Map<String, Integer>> result = new ArrayList<>(0);
+        Assert.assertTrue(prefix.tryAdvance(result::add));
+        prefix.forEachRemaining(result::add);
+        subject.forEachRemaining(result::add);
+        Assert.assertEquals(expected(), result);
+    }
+
+    @Test
+    public void testSample() {
+        final Set<Map<String, Integer>> all = new HashSet<>(expected());
+        final CombSpace<String, Integer> subject = CombSpace.of(ORIGIN);
+        final List<Map<String, Integer>> sequential = subject.sample(1000, 278, false).collect(Collectors.toList());
+        final List<Map<String, Integer>> parallel = subject.sample(1000, 278, true).collect(Collectors.toList());
+        Assert.assertEquals(1000, sequential.size());
+        Assert.assertEquals(sequential, parallel);
+        Assert.assertTrue(all.containsAll(sequential));
+        Assert.assertNotEquals(sequential, subject.sample(1000, 279, false).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSampleDistinct() {
+        final List<Map<String, Integer>> expected = expected();
+        final CombSpace<String, Integer> subject = CombSpace.of(ORIGIN);
+        final List<Map<String, Integer>> sequential =
+                subject.sampleDistinct(expected.size(), 278, false).collect(Collectors.toList());
+        final List<Map<String, Integer>> parallel =
+                subject.sampleDistinct(expected.size(), 278, true).collect(Collectors.toList());
+        Assert.assertEquals(sequential, parallel);
+        Assert.assertNotEquals(expected, sequential);
+        Assert.assertEquals(new HashSet<>(expected), new HashSet<>(sequential));
+        Assert.assertEquals(sequential.subList(0, 10),
+                            subject.sampleDistinct(10, 278, false).collect(Collectors.toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSampleDistinctTooMany() {
+        CombSpace.of(ORIGIN).sampleDistinct(3 * 2 * 7 * 4 + 1, 278, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSampleEmpty() {
+        CombSpace.of(emptyMap()).sample(1, 278, false);
+    }
+
+    @Test
+    public void testGrayIterator() {
+        final CombSpace<String, Integer> subject = CombSpace.of(ORIGIN);
+        final CombSpace<String, Integer>.GrayCursor cursor = subject.grayIterator();
+        final List<Map<String, Integer>> result = new ArrayList<>(0);
+        while (cursor.hasNext()) {
+            final Map<String, Integer> combination = cursor.next();
+            if (result.isEmpty()) {
+                Assert.assertEquals(-1, cursor.changedIndex());
+                Assert.assertNull(cursor.changedKey());
+            } else {
+                final Map<String, Integer> previous = result.get(result.size() - 1);
+                final List<String> changed = new ArrayList<>(0);
+                combination.forEach((key, value) -> {
+                    if (!value.equals(previous.get(key))) {
+                        changed.add(key);
+                    }
+                });
+                Assert.assertEquals(asList(cursor.changedKey()), changed);
+            }
+            result.add(combination);
+        }
+        Assert.assertEquals(subject.size(), result.size());
+        Assert.assertEquals(new HashSet<>(expected()), new HashSet<>(result));
+    }
+
+    @Test
+    public void testGrayIteratorEmpty() {
+        Assert.assertFalse(CombSpace.of(emptyMap()).grayIterator().hasNext());
+    }
+
+    @Test
+    public void testByPriority() {
+        final CombSpace<String, Integer> subject = CombSpace.of(ORIGIN);
+        final List<Map<String, Integer>> result = new ArrayList<>(0);
+        // prefers high values ...
+        subject.byPriority((key, value) -> -value).forEachRemaining(result::add);
+        Assert.assertEquals(subject.size(), result.size());
+        Assert.assertEquals(new HashSet<>(expected()), new HashSet<>(result));
+        int previous = Integer.MAX_VALUE;
+        for (final Map<String, Integer> combination : result) {
+            final int sum = combination.values().stream().mapToInt(Integer::intValue).sum();
+            Assert.assertTrue(sum <= previous);
+            previous = sum;
+        }
+        Assert.assertEquals(subject.get(subject.size() - 1), result.get(0));
+    }
+
+    @Test
+    public void testByPriorityOfPositions() {
+        final CombSpace<String, Integer> subject = CombSpace.of(ORIGIN);
+        final Iterator<Map<String, Integer>> iterator = subject.byPriority();
+        Assert.assertEquals(subject.get(0), iterator.next());
+        final Set<Map<String, Integer>> second = new HashSet<>(asList(iterator.next(), iterator.next(),
+                                                                      iterator.next(), iterator.next()));
+        Assert.assertEquals(new HashSet<>(asList(subject.get(1), subject.get(3), subject.get(6), subject.get(42))),
+                            second);
+    }
+
+    @Test
+    public void testByPriorityBounded() {
+        final CombSpace<String, Integer> subject = CombSpace.of(ORIGIN);
+        final List<Map<String, Integer>> expected = new ArrayList<>(0);
+        subject.byPriority((key, value) -> -value).forEachRemaining(expected::add);
+        for (final int capacity : new int[]{1, 2, 5}) {
+            final List<Map<String, Integer>> result = new ArrayList<>(0);
+            subject.byPriority((key, value) -> -value, capacity).forEachRemaining(result::add);
+            Assert.assertEquals(expected, result);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testByPriorityNoCapacity() {
+        CombSpace.of(ORIGIN).byPriority((key, value) -> 0.0, 0);
+    }
+
+    @Test
+    public void testByPriorityEmpty() {
+        Assert.assertFalse(CombSpace.of(emptyMap()).byPriority().hasNext());
+    }
+}
@@ -0,0 +1,104 @@
+package net.team33.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+
+public class CoveringTest {
+
+    private static Map<Integer, List<Integer>> origin(final int keys, final int values) {
+        final Map<Integer, List<Integer>> result = new LinkedHashMap<>(keys);
+        for (int key = 0; key < keys; ++key) {
+            final List<Integer> domain = new ArrayList<>(values + key % 3);
+            for (int value = 0; value < values + key % 3; ++value) {
+                domain.add(value);
+            }
+            result.put(key, domain);
+        }
+        return result;
+    }
+
+    private static void assertCovers(final Map<Integer, List<Integer>> origin,
+                                     final List<Map<Integer, Integer>> subject) {
+        final List<Integer> keys = new ArrayList<>(origin.keySet());
+        for (final Map<Integer, Integer> combination : subject) {
+            Assert.assertEquals(keys, new ArrayList<>(combination.keySet()));
+        }
+        for (int left = 0; left < keys.size(); ++left) {
+            for (int right = left + 1; right < keys.size(); ++right) {
+                for (final Integer leftValue : origin.get(keys.get(left))) {
+                    for (final Integer rightValue : origin.get(keys.get(right))) {
+                        boolean covered = false;
+                        for (final Map<Integer, Integer> combination : subject) {
+                            covered = covered || (leftValue.equals(combination.get(keys.get(left)))
+                                    && rightValue.equals(combination.get(keys.get(right))));
+                        }
+                        Assert.assertTrue(
+                                "<" + leftValue + ", " + rightValue + "> should be covered for keys <"
+                                        + keys.get(left) + ", " + keys.get(right) + ">",
+                                covered);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPairwise() {
+        final Map<Integer, List<Integer>> origin = origin(12, 5);
+        final List<Map<Integer, Integer>> subject = Covering.pairwise(origin);
+        assertCovers(origin, subject);
+        Assert.assertTrue("size is " + subject.size(), subject.size() < 100);
+    }
+
+    @Test
+    public void testThreeWise() {
+        final Map<Integer, List<Integer>> origin = origin(6, 2);
+        final List<Map<Integer, Integer>> subject = Covering.of(origin, 3);
+        assertCovers(origin, subject);
+        for (int a = 0; a < 6; ++a) {
+            for (int b = a + 1; b < 6; ++b) {
+                for (int c = b + 1; c < 6; ++c) {
+                    final List<List<Integer>> tuples = new ArrayList<>(0);
+                    for (final Map<Integer, Integer> combination : subject) {
+                        final List<Integer> tuple = asList(combination.get(a), combination.get(b), combination.get(c));
+                        if (!tuples.contains(tuple)) {
+                            tuples.add(tuple);
+                        }
+                    }
+                    Assert.assertEquals(origin.get(a).size() * origin.get(b).size() * origin.get(c).size(),
+                            tuples.size());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFullStrength() {
+        final Map<Integer, List<Integer>> origin = origin(3, 2);
+        final List<Map<Integer, Integer>> expected = new ArrayList<>(0);
+        new CombIterator<>(origin).forEachRemaining(expected::add);
+        Assert.assertEquals(expected.size(), Covering.of(origin, 3).size());
+        Assert.assertTrue(Covering.of(origin, 5).containsAll(expected));
+    }
+
+    @Test
+    public void testEmpty() {
+        Assert.assertTrue(Covering.pairwise(emptyMap()).isEmpty());
+        final Map<Integer, List<Integer>> origin = origin(3, 2);
+        origin.put(3, new ArrayList<>(0));
+        Assert.assertTrue(Covering.pairwise(origin).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalStrength() {
+        Covering.of(origin(3, 2), 0);
+    }
+}
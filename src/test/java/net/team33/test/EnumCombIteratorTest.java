@@ -0,0 +1,103 @@
+package net.team33.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static java.util.Arrays.asList;
+
+public class EnumCombIteratorTest {
+
+    private static final Map<KEY, List<Object>> ORIGIN;
+
+    static {
+        ORIGIN = new EnumMap<>(KEY.class);
+        ORIGIN.put(KEY.DOUBLE, asList(0.0, 1.0, null));
+        ORIGIN.put(KEY.STRING, asList("a", "b"));
+        ORIGIN.put(KEY.INTEGER, asList(1, 2, 3, 4));
+    }
+
+    @Test
+    public void testNext() {
+        final List<Map<KEY, Object>> expected = new ArrayList<>(0);
+        new CombIterator<>(ORIGIN).forEachRemaining(expected::add);
+
+        final List<Map<KEY, Object>> result = new ArrayList<>(0);
+        new EnumCombIterator<>(KEY.class, ORIGIN).forEachRemaining(result::add);
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test
+    public void testNextInto() {
+        final List<Map<KEY, Object>> expected = new ArrayList<>(0);
+        new CombIterator<>(ORIGIN).forEachRemaining(expected::add);
+
+        final List<Map<KEY, Object>> result = new ArrayList<>(0);
+        final EnumCombIterator<KEY, Object> subject = new EnumCombIterator<>(KEY.class, ORIGIN);
+        while (subject.hasNext()) {
+            final Builder builder = new Builder();
+            subject.nextInto(builder::set);
+            result.add(builder.asMap());
+        }
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test
+    public void testOriginContainsEmpty() {
+        final Map<KEY, List<Object>> origin = new EnumMap<>(ORIGIN);
+        origin.put(KEY.STRING, asList());
+        Assert.assertFalse(new EnumCombIterator<>(KEY.class, origin).hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testOriginIsEmpty() {
+        new EnumCombIterator<>(KEY.class, new EnumMap<KEY, List<Object>>(KEY.class)).next();
+    }
+
+    private enum KEY implements Mapped.Key {
+        STRING(String.class, false, ""),
+        INTEGER(Integer.class, false, 0),
+        DOUBLE(Double.class, true, 0.0);
+
+        private final Class<?> valueClass;
+        private final boolean nullable;
+        private final Object fallback;
+
+        KEY(final Class<?> valueClass, final boolean nullable, final Object fallback) {
+            this.valueClass = valueClass;
+            this.nullable = nullable;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public Class<?> getValueClass() {
+            return valueClass;
+        }
+
+        @Override
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        @Override
+        public Object getInitial() {
+            return fallback;
+        }
+    }
+
+    private static class Builder extends EnumMapped.Mapper<KEY, Builder> {
+        private Builder() {
+            super(KEY.class);
+        }
+
+        @Override
+        protected final Builder finallyThis() {
+            return this;
+        }
+    }
+}
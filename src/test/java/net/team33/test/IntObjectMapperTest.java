@@ -0,0 +1,47 @@
+package net.team33.test;
+
+import net.team33.collections.IntObjectMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+
+public class IntObjectMapperTest {
+
+    @Test
+    public void testBuild() {
+        final Map<Integer, String> expected = new LinkedHashMap<>(0);
+        expected.put(3, "three");
+        expected.put(1, "one");
+        final IntObjectMap<String> subject = IntObjectMapper.<String>mapper()
+                .put(3, "three")
+                .put(2, "two")
+                .put(1, "one")
+                .remove(2)
+                .build();
+        Assert.assertEquals(expected, subject.asMap());
+        Assert.assertArrayEquals(new int[]{3, 1}, subject.keys());
+    }
+
+    @Test
+    public void testPutAll() {
+        final Map<Long, Long> origin = new LinkedHashMap<>(0);
+        origin.put(1L, 2L);
+        origin.put(Long.MAX_VALUE, Long.MIN_VALUE);
+        Assert.assertEquals(origin, LongLongMapper.mapper().putAll(origin).unmodifiable().asMap());
+        Assert.assertEquals(
+                IntIntMapper.mapper().put(1, 2).put(3, 4).build(),
+                IntIntMapper.mapper().putAll(IntIntMapper.mapper().put(3, 4).put(1, 2).build()).unmodifiable()
+        );
+        Assert.assertEquals(asList(1, 3), asList(IntObjectMapper.mapper().put(1, "a").put(3, 'b').build()
+                .asMap().keySet().toArray()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable() {
+        IntObjectMapper.<String>mapper().put(1, "one").unmodifiable().put(2, "two");
+    }
+}
@@ -0,0 +1,55 @@
+package net.team33.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() throws Exception {
+        final LatencyHistogram subject = new LatencyHistogram();
+        Assert.assertEquals(0, subject.getCount());
+        Assert.assertEquals(0, subject.valueAt(0.5));
+    }
+
+    @Test
+    public void testValueAt() throws Exception {
+        final LatencyHistogram subject = new LatencyHistogram();
+        for (long value = 1; value <= 1000000; ++value) {
+            subject.record(value * 1000);
+        }
+        Assert.assertEquals(1000000, subject.getCount());
+        Assert.assertEquals(1000000000L, subject.getMax());
+        assertNear(500000000L, subject.valueAt(0.5));
+        assertNear(900000000L, subject.valueAt(0.9));
+        assertNear(990000000L, subject.valueAt(0.99));
+        Assert.assertEquals(1000000000L, subject.valueAt(1.0));
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        final LatencyHistogram left = new LatencyHistogram();
+        final LatencyHistogram right = new LatencyHistogram();
+        for (long value = 0; value < 100; ++value) {
+            left.record(value);
+            right.record(value + 100);
+        }
+        left.merge(right);
+        Assert.assertEquals(200, left.getCount());
+        Assert.assertEquals(199, left.getMax());
+        assertNear(100, left.valueAt(0.5));
+    }
+
+    @Test
+    public void testExtremes() throws Exception {
+        final LatencyHistogram subject = new LatencyHistogram();
+        subject.record(-1);
+        subject.record(Long.MAX_VALUE);
+        Assert.assertEquals(0, subject.valueAt(0.5));
+        Assert.assertEquals(Long.MAX_VALUE, subject.valueAt(1.0));
+    }
+
+    private static void assertNear(final long expected, final long actual) {
+        Assert.assertTrue(expected + " ~ " + actual, Math.abs(expected - actual) <= expected * 0.04);
+    }
+}
@@ -0,0 +1,46 @@
+package net.team33.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+public class MapperTest {
+
+    private static Map<Integer, Integer> expected(final int limit) {
+        final Map<Integer, Integer> result = new LinkedHashMap<>(0);
+        for (int value = 0; value < limit; ++value) {
+            result.merge(value % 1000, value, Integer::sum);
+        }
+        return result;
+    }
+
+    @Test
+    public void testCollector() {
+        final Map<Integer, Integer> result = IntStream.range(0, 100000).boxed().parallel()
+                .collect(Mapper.collector(value -> value % 1000, value -> value, Integer::sum, LinkedHashMap::new));
+        Assert.assertEquals(expected(100000), result);
+        Assert.assertEquals(new ArrayList<>(expected(100000).keySet()), new ArrayList<>(result.keySet()));
+    }
+
+    @Test
+    public void testConcurrentCollector() {
+        final Map<Integer, Integer> result = IntStream.range(0, 100000).boxed().parallel()
+                .collect(Mapper.concurrentCollector(
+                        value -> value % 1000, value -> value, Integer::sum, ConcurrentHashMap::new));
+        Assert.assertEquals(expected(100000), result);
+    }
+
+    @Test
+    public void testMerge() {
+        Assert.assertEquals(
+                Mapper.<String, Integer>mapper().put("a", 3).put("b", 2).build(),
+                Mapper.<String, Integer>mapper().merge("a", 1, Integer::sum).put("b", 2).merge("a", 2, Integer::sum)
+                        .build()
+        );
+    }
+}
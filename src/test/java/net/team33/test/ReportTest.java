@@ -3,10 +3,15 @@ package net.team33.test;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class ReportTest {
 
@@ -76,4 +81,330 @@ public class ReportTest {
                 ).toString()
         );
     }
+
+    @Test
+    public void testWriteToMaxDepth() throws Exception {
+        Assert.assertEquals(
+                String.format("" +
+                        "[%n" +
+                        "   This is a String,%n" +
+                        "   [...],%n" +
+                        "   []%n" +
+                        "]"),
+                new Report(Arrays.asList(
+                        "This is a String",
+                        Arrays.asList("This", "is", "a", "List"),
+                        Collections.emptyList())
+                ).writeTo(new StringBuilder(0), RenderOptions.UNLIMITED.withMaxDepth(1)).toString()
+        );
+    }
+
+    @Test
+    public void testWriteToMaxElements() throws Exception {
+        Assert.assertEquals(
+                String.format("" +
+                        "[%n" +
+                        "   [%n" +
+                        "      This,%n" +
+                        "      is,%n" +
+                        "      ... (2 more)%n" +
+                        "   ],%n" +
+                        "   This is a String,%n" +
+                        "   ... (1 more)%n" +
+                        "]"),
+                new Report(Arrays.asList(
+                        new String[]{"This", "is", "an", "array"},
+                        "This is a String",
+                        "This is another String")
+                ).writeTo(new StringBuilder(0), RenderOptions.UNLIMITED.withMaxElements(2)).toString()
+        );
+    }
+
+    @Test
+    public void testWriteToMaxChars() throws Exception {
+        final Report subject = new Report(Arrays.asList("This is a String", "This is another String"));
+        Assert.assertEquals(
+                subject.toString().substring(0, 20) + "...<truncated>",
+                subject.writeTo(new StringBuilder(0), RenderOptions.UNLIMITED.withMaxChars(20)).toString()
+        );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRenderOptionsNegative() throws Exception {
+        RenderOptions.DEFAULT.withMaxElements(-1);
+    }
+
+    @Test
+    public void testToStringShared() throws Exception {
+        final List<String> shared = Arrays.asList("a", "shared", "List");
+        Assert.assertEquals(
+                String.format("" +
+                        "[%n" +
+                        "   #1 [%n" +
+                        "      a,%n" +
+                        "      shared,%n" +
+                        "      List%n" +
+                        "   ],%n" +
+                        "   [%n" +
+                        "      <ref #1>%n" +
+                        "   ],%n" +
+                        "   []%n" +
+                        "]"),
+                new Report(Arrays.asList(shared, Collections.singletonList(shared), Collections.emptyList()))
+                        .toString()
+        );
+    }
+
+    @Test
+    public void testToStringCyclic() throws Exception {
+        final List<Object> cyclic = new ArrayList<>(0);
+        cyclic.add("cyclic");
+        cyclic.add(cyclic);
+        Assert.assertEquals(
+                String.format("" +
+                        "[%n" +
+                        "   #1 [%n" +
+                        "      cyclic,%n" +
+                        "      <ref #1>%n" +
+                        "   ]%n" +
+                        "]"),
+                new Report(Collections.singletonList(cyclic)).toString()
+        );
+    }
+
+    @Test
+    public void testToStringSingleUse() throws Exception {
+        final Iterable<Integer> singleUse = Stream.of(1, 2)::iterator;
+        Assert.assertEquals(
+                String.format("" +
+                        "[%n" +
+                        "   [%n" +
+                        "      1,%n" +
+                        "      2%n" +
+                        "   ],%n" +
+                        "   <ref #1>%n" +
+                        "]"),
+                new Report(Arrays.asList(singleUse, singleUse)).toString()
+        );
+    }
+
+    @Test
+    public void testWriteToMaxCharsLazy() throws Exception {
+        final AtomicInteger iterations = new AtomicInteger(0);
+        final List<Iterable<Integer>> entries = new ArrayList<>(0);
+        for (int index = 0; index < 2000; ++index) {
+            entries.add(() -> {
+                iterations.incrementAndGet();
+                return IntStream.range(0, 1000).iterator();
+            });
+        }
+        final String result = new Report(entries).writeTo(new StringBuilder(0),
+                                                          RenderOptions.DEFAULT.withMaxChars(10000)).toString();
+        Assert.assertTrue(result.endsWith("...<truncated>"));
+        Assert.assertTrue("iterations: " + iterations.get(), iterations.get() < 100);
+    }
+
+    @Test
+    public void testWriteToDeep() throws Exception {
+        Object subject = "deep";
+        for (int depth = 0; depth < 5000; ++depth) {
+            subject = Collections.singletonList(subject);
+        }
+        final StringBuilder tail = new StringBuilder(0);
+        final List<CharSequence> leaves = new ArrayList<>(0);
+        new Report(Collections.singletonList(subject)).writeTo(new Appendable() {
+            @Override
+            public Appendable append(final CharSequence csq) {
+                if ("deep".contentEquals(csq)) {
+                    leaves.add(csq);
+                }
+                tail.append(csq);
+                tail.delete(0, Math.max(0, tail.length() - 1));
+                return this;
+            }
+
+            @Override
+            public Appendable append(final CharSequence csq, final int start, final int end) {
+                return append(csq.subSequence(start, end));
+            }
+
+            @Override
+            public Appendable append(final char c) {
+                return append(String.valueOf(c));
+            }
+        }, RenderOptions.UNLIMITED);
+        Assert.assertEquals(1, leaves.size());
+        Assert.assertEquals("]", tail.toString());
+    }
+
+    @Test
+    public void testToStringPrimitives() throws Exception {
+        Assert.assertEquals(
+                String.format("" +
+                        "[%n" +
+                        "   [%n" +
+                        "      1,%n" +
+                        "      -2%n" +
+                        "   ],%n" +
+                        "   [%n" +
+                        "      0.5,%n" +
+                        "      NaN%n" +
+                        "   ],%n" +
+                        "   [%n" +
+                        "      x,%n" +
+                        "      y%n" +
+                        "   ],%n" +
+                        "   [%n" +
+                        "      true%n" +
+                        "   ],%n" +
+                        "   [%n" +
+                        "      127,%n" +
+                        "      -128%n" +
+                        "   ]%n" +
+                        "]"),
+                new Report(Arrays.asList(
+                        new int[]{1, -2},
+                        new double[]{0.5, Double.NaN},
+                        new char[]{'x', 'y'},
+                        new boolean[]{true},
+                        new byte[]{127, -128})
+                ).toString()
+        );
+    }
+
+    @Test
+    public void testWriteToCompactBytes() throws Exception {
+        final Report subject = new Report(Collections.singletonList(new byte[]{10, 27, 44, -1}));
+        Assert.assertEquals(
+                String.format("[%n   <hex:0a1b2cff>%n]"),
+                subject.writeTo(new StringBuilder(0), RenderOptions.DEFAULT.withByteForm(RenderOptions.ByteForm.HEX))
+                       .toString()
+        );
+        Assert.assertEquals(
+                String.format("[%n   <base64:Chss/w==>%n]"),
+                subject.writeTo(new StringBuilder(0), RenderOptions.DEFAULT.withByteForm(RenderOptions.ByteForm.BASE64))
+                       .toString()
+        );
+        Assert.assertEquals(
+                String.format("[%n   <hex:0a1b ... (2 more)>%n]"),
+                subject.writeTo(new StringBuilder(0), RenderOptions.DEFAULT.withByteForm(RenderOptions.ByteForm.HEX)
+                                                                           .withMaxElements(2))
+                       .toString()
+        );
+    }
+
+    @Test
+    public void testDiffEqual() throws Exception {
+        Assert.assertEquals("", new Report(Arrays.asList("a", A_MAP)).diff(new Report(Arrays.asList("a", A_MAP))));
+    }
+
+    @Test
+    public void testDiff() throws Exception {
+        final Report expected = new Report(Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h"));
+        final Report actual = new Report(Arrays.asList("a", "b", "c", "x", "e", "f", "g", "h", "i"));
+        Assert.assertEquals(
+                String.format("" +
+                        "@@ [1] @@%n" +
+                        "  [1]: b%n" +
+                        "  [2]: c%n" +
+                        "- [3]: d%n" +
+                        "+ [3]: x%n" +
+                        "  [4]: e%n" +
+                        "  [5]: f%n" +
+                        "  [6]: g%n" +
+                        "  [7]: h%n" +
+                        "+ [8]: i%n"),
+                expected.diff(actual)
+        );
+    }
+
+    @Test
+    public void testDiffNested() throws Exception {
+        final Map<Object, Object> other = new LinkedHashMap<>(A_MAP);
+        other.put("This", "is another Map entry");
+        other.remove(Arrays.asList("A", "List", "as"));
+        other.put("new", "key");
+        final Report expected = new Report(Arrays.asList("a", A_MAP, new int[]{1, 2, 3}));
+        final Report actual = new Report(Arrays.asList("a", other, new int[]{1, 3}));
+        Assert.assertEquals(
+                String.format("" +
+                        "@@ [0] @@%n" +
+                        "  [0]: a%n" +
+                        "- [1]{This}: is a Map entry%n" +
+                        "+ [1]{This}: is another Map entry%n" +
+                        "- [1]{[A, List, as]}: key%n" +
+                        "+ [1]{new}: key%n" +
+                        "@@ [2][0] @@%n" +
+                        "  [2][0]: 1%n" +
+                        "- [2][1]: 2%n" +
+                        "  [2][2]: 3%n"),
+                expected.diff(actual)
+        );
+    }
+
+    @Test
+    public void testDiffEqualContent() throws Exception {
+        final Report expected = new Report(Arrays.asList("x", new int[]{1, 2}, "y"));
+        final Report actual = new Report(Arrays.asList("x", new int[]{1, 2}, "y"));
+        Assert.assertNotEquals(expected, actual);
+        Assert.assertEquals(
+                String.format("" +
+                        "@@ [0] @@%n" +
+                        "  [0]: x%n" +
+                        "- [1]: [%n" +
+                        "-      1,%n" +
+                        "-      2%n" +
+                        "-   ]%n" +
+                        "+ [1]: [%n" +
+                        "+      1,%n" +
+                        "+      2%n" +
+                        "+   ]%n" +
+                        "  [2]: y%n"),
+                expected.diff(actual)
+        );
+    }
+
+    @Test
+    public void testDiffDeep() throws Exception {
+        Object expected = new int[]{1, 2};
+        Object actual = new int[]{1, 2};
+        for (int depth = 0; depth < 5000; ++depth) {
+            expected = Collections.singletonList(expected);
+            actual = Collections.singletonList(actual);
+        }
+        final String result = new Report(Collections.singletonList(expected))
+                .diff(new Report(Collections.singletonList(actual)));
+        // compared recursively up to a limited depth, rendered as a whole beyond ...
+        Assert.assertTrue(result, result.contains(String.format("%n- [0][0][0][0][0][0][0][0][0]: [%n")));
+        Assert.assertTrue(result, result.contains(String.format("%n+ [0][0][0][0][0][0][0][0][0]: [%n")));
+    }
+
+    @Test
+    public void testDiffManyHunks() throws Exception {
+        final List<Object> left = new ArrayList<>(0);
+        final List<Object> right = new ArrayList<>(0);
+        for (int index = 0; index < 10000; ++index) {
+            left.add(index);
+            right.add((0 == index % 10) ? -index : index);
+        }
+        final String[] lines = new Report(left).diff(new Report(right)).split(String.format("%n"));
+        Assert.assertTrue("lines: " + lines.length, lines.length <= 1001);
+        Assert.assertTrue(lines[lines.length - 1], lines[lines.length - 1].endsWith("more differences)"));
+    }
+
+    @Test(timeout = 10000)
+    public void testDiffLarge() throws Exception {
+        final List<Object> left = new ArrayList<>(1000000);
+        for (int index = 0; index < 1000000; ++index) {
+            left.add(index);
+        }
+        final List<Object> right = new ArrayList<>(left);
+        right.remove(300000);
+        right.set(600000, "changed");
+        right.add(900000, "inserted");
+        final String result = new Report(left).diff(new Report(right));
+        Assert.assertTrue(result, result.contains(String.format("- [300000]: 300000%n")));
+        Assert.assertTrue(result, result.contains(String.format("- [600001]: 600001%n+ [600000]: changed%n")));
+        Assert.assertTrue(result, result.contains(String.format("  [900000]: 900000%n+ [900000]: inserted%n")));
+    }
 }
@@ -0,0 +1,112 @@
+package net.team33.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ReportWriterTest {
+
+    private static final Map<Object, Object> A_MAP = new LinkedHashMap<>(0);
+
+    static {
+        A_MAP.put("expected", Arrays.asList(1, 2));
+        A_MAP.put("but was", new int[]{1, 3});
+    }
+
+    @Test
+    public void testJsonLines() throws Exception {
+        final StringBuilder target = new StringBuilder(0);
+        ReportWriter.jsonLines(target).write(new Report(Arrays.asList(
+                "a \"quoted\"\nmessage",
+                A_MAP,
+                null,
+                Double.NaN,
+                new AbstractMap.SimpleImmutableEntry<>(1, true))));
+        Assert.assertEquals(
+                "{\"index\":0,\"entry\":\"a \\\"quoted\\\"\\nmessage\"}\n" +
+                "{\"index\":1,\"entry\":{\"expected\":[1,2],\"but was\":[1,3]}}\n" +
+                "{\"index\":2,\"entry\":null}\n" +
+                "{\"index\":3,\"entry\":\"NaN\"}\n" +
+                "{\"index\":4,\"entry\":{\"key\":1,\"value\":true}}\n",
+                target.toString()
+        );
+    }
+
+    @Test
+    public void testJsonLinesPrimitives() throws Exception {
+        final StringBuilder target = new StringBuilder(0);
+        ReportWriter.jsonLines(target, RenderOptions.DEFAULT.withMaxElements(3)).write(new Report(Arrays.asList(
+                new long[]{1, -2},
+                new double[]{0.5, Double.NaN, Double.NEGATIVE_INFINITY},
+                new char[]{'a', '"'},
+                new boolean[]{true, false},
+                new byte[]{1, 2, 3, 4})));
+        Assert.assertEquals(
+                "{\"index\":0,\"entry\":[1,-2]}\n" +
+                "{\"index\":1,\"entry\":[0.5,\"NaN\",\"-Infinity\"]}\n" +
+                "{\"index\":2,\"entry\":[\"a\",\"\\\"\"]}\n" +
+                "{\"index\":3,\"entry\":[true,false]}\n" +
+                "{\"index\":4,\"entry\":[1,2,3,\"...\"]}\n",
+                target.toString()
+        );
+    }
+
+    @Test
+    public void testJsonLinesLimited() throws Exception {
+        final List<Object> cyclic = new ArrayList<>(0);
+        cyclic.add(Arrays.asList("a", "b", "c", "d"));
+        cyclic.add(Collections.singletonList(Collections.singletonList(Collections.singletonList("deep"))));
+        cyclic.add(cyclic);
+        final StringBuilder target = new StringBuilder(0);
+        ReportWriter.jsonLines(target, RenderOptions.DEFAULT.withMaxDepth(3).withMaxElements(3))
+                    .write(new Report(Collections.singletonList(cyclic)));
+        Assert.assertEquals(
+                "{\"index\":0,\"entry\":[[\"a\",\"b\",\"c\",\"...\"],[[\"[...]\"]],\"<cycle>\"]}\n",
+                target.toString()
+        );
+    }
+
+    @Test
+    public void testJunitXml() throws Exception {
+        final StringBuilder target = new StringBuilder(0);
+        ReportWriter.junitXml(target, "a <suite>").write(new Report(Arrays.asList("a & b", A_MAP)));
+        Assert.assertEquals(
+                "<?xml version=\"1.0\"?>\n" +
+                "<testsuite name=\"a &lt;suite&gt;\">\n" +
+                "  <testcase classname=\"a &lt;suite&gt;\" name=\"entry 0\">\n" +
+                "    <failure type=\"java.lang.String\">a &amp; b</failure>\n" +
+                "  </testcase>\n" +
+                "  <testcase classname=\"a &lt;suite&gt;\" name=\"entry 1\">\n" +
+                "    <failure type=\"java.util.LinkedHashMap\">" +
+                rendered(A_MAP).replace("<", "&lt;").replace(">", "&gt;") + "</failure>\n" +
+                "  </testcase>\n" +
+                "</testsuite>\n",
+                target.toString()
+        );
+    }
+
+    @Test
+    public void testJunitXmlPartial() throws Exception {
+        final StringBuilder target = new StringBuilder(0);
+        final Report report = Reporter.test(Arrays.asList(1, 2, 3), (context, subject) -> context.report(subject),
+                                            Reporter.Policy.UNLIMITED.withMaxEntries(1));
+        ReportWriter.junitXml(target, "suite").write(report);
+        Assert.assertTrue(target.toString(), target.toString().endsWith(
+                "  <testcase classname=\"suite\" name=\"skipped\">" +
+                "<skipped message=\"2 subject(s) skipped\"/></testcase>\n" +
+                "</testsuite>\n"));
+    }
+
+    private static String rendered(final Object subject) throws Exception {
+        final StringBuilder result = new StringBuilder(0);
+        new Renderer(result, RenderOptions.DEFAULT).render(subject);
+        return result.toString();
+    }
+}
@@ -2,12 +2,25 @@ package net.team33.test;
 
 import org.junit.Test;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ReporterTest {
 
@@ -67,6 +80,281 @@ public class ReporterTest {
         );
     }
 
+    @Test
+    public void testParallel() throws Exception {
+        final List<Integer> subjects = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+        final Reporter.Tester<Integer> tester = (context, subject) -> {
+            if (0 == subject % 3) {
+                context.report(subject).report(String.valueOf(subject));
+            }
+        };
+        assertEquals(
+                Reporter.test(subjects, tester).toString(),
+                Reporter.testParallel(subjects, tester).toString()
+        );
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertEquals(
+                    Reporter.test(subjects, tester),
+                    Reporter.test(subjects, tester, executor)
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLazyMessages() throws Exception {
+        assertEquals(
+                new Report(asList(
+                        String.format(EXPECTED_X_BUT_WAS_Y, 2, 1),
+                        String.format(UNEXPECTED_BUT_WAS_X, 2, 2),
+                        String.format(EXPECTED_X_BUT_WAS_Y, 2, 3))),
+                Reporter.test(asList(1, 2, 3), (context, subject) -> {
+                    context.expectEqualsLazy(2, subject, () -> String.format(EXPECTED_X_BUT_WAS_Y, 2, subject));
+                    context.expectNotEquals(2, subject, UNEXPECTED_BUT_WAS_X, 2, subject);
+                    context.expectTrueLazy(true, () -> {
+                        throw new AssertionError("should not be retrieved");
+                    });
+                })
+        );
+    }
+
+    @Test
+    public void testPrimitiveExpectations() throws Exception {
+        assertEquals(
+                new Report(asList("long 1", "double 1.0", "double 3.0")),
+                Reporter.test(asList(1, 2, 3), (context, subject) -> {
+                    context.expectLongEqualsLazy(subject.longValue() / 2, 1L, () -> "long " + subject);
+                    context.expectDoubleEqualsLazy(1.0 + subject / 2.0, 2.0, 0.25, () -> "double " + subject / 1.0);
+                })
+        );
+    }
+
+    @Test
+    public void testOverloadResolution() throws Exception {
+        assertEquals(
+                new Report(asList(null, "int vs. long", "int vs. long")),
+                Reporter.test(asList(1, 2), (context, subject) -> {
+                    if (1 == subject) {
+                        context.expectTrue(false, null);
+                    }
+                    context.expectEquals(subject, Integer.valueOf(subject), "never");
+                    context.expectEquals(1, 1L, "int vs. long");
+                })
+        );
+    }
+
+    @Test
+    public void testDoubleEqualsSpecial() throws Exception {
+        assertEquals(
+                new Report(asList("+Inf vs. -Inf", "NaN vs. 0")),
+                Reporter.test(asList(1), (context, subject) -> {
+                    context.expectDoubleEquals(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 0, "never");
+                    context.expectDoubleEquals(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, 0, "never");
+                    context.expectDoubleEqualsLazy(Double.NaN, Double.NaN, 0, () -> "never");
+                    context.expectDoubleEquals(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 1, "+Inf vs. -Inf");
+                    context.expectDoubleEqualsLazy(Double.NaN, 0.0, 1, () -> "NaN vs. 0");
+                })
+        );
+    }
+
+    @Test
+    public void testMaxEntries() throws Exception {
+        final List<Integer> subjects = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        final Report report = Reporter.test(subjects, new ReportTester(),
+                                            Reporter.Policy.UNLIMITED.withMaxEntries(10));
+        assertEquals(subjects.subList(0, 10), report.asList());
+        assertTrue(report.isPartial());
+        assertEquals(90, report.getSkipped());
+        assertTrue(report.toString().endsWith("<partial: 90 subject(s) skipped>"));
+    }
+
+    @Test
+    public void testLive() throws Exception {
+        final StringBuilder target = new StringBuilder(0);
+        final long written = Reporter.test(asList(true, false, true, false).iterator(), new ExpectTrueTester(),
+                                           Reporter.Policy.UNLIMITED.withMaxEntries(1),
+                                           ReportWriter.jsonLines(target));
+        assertEquals(1, written);
+        assertEquals(
+                "{\"index\":0,\"entry\":\"" + EXPECTED_TRUE_BUT_WAS_FALSE + "\"}\n" +
+                "{\"skipped\":null}\n",
+                target.toString()
+        );
+    }
+
+    @Test
+    public void testTiming() throws Exception {
+        final List<Integer> subjects = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        final Reporter.Tester<Integer> tester = (context, subject) -> {
+            if (42 == subject) {
+                sleep(20);
+            }
+            context.report(subject);
+        };
+        final Report untimed = Reporter.test(subjects, tester);
+        final Report timed = Reporter.test(subjects, tester, Reporter.Policy.UNLIMITED.withTiming(3));
+        assertEquals(untimed, timed);
+        assertEquals(Timing.NONE, untimed.getTiming());
+
+        final Timing timing = timed.getTiming();
+        assertEquals(100, timing.getCount());
+        assertEquals(3, timing.getSlowest().size());
+        assertEquals(42, timing.getSlowest().get(0).getSubject());
+        assertEquals(timing.getMax(), timing.getSlowest().get(0).getDuration());
+        assertTrue(timing.toString(), timing.getMax().compareTo(Duration.ofMillis(20)) >= 0);
+        assertTrue(timing.toString(), timing.getP50().compareTo(Duration.ofMillis(20)) < 0);
+        assertTrue(timing.toString(), timing.getP99().compareTo(timing.getMax()) <= 0);
+    }
+
+    @Test
+    public void testTimingParallel() throws Exception {
+        final List<Integer> subjects = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+        final Report report = Reporter.test(subjects.iterator(), new ReportTester(), ForkJoinPool.commonPool(),
+                                            Reporter.Policy.UNLIMITED.withTiming(10));
+        assertEquals(subjects, report.asList());
+        assertEquals(subjects.size(), report.getTiming().getCount());
+        assertEquals(10, report.getTiming().getSlowest().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTimingNegative() throws Exception {
+        Reporter.Policy.UNLIMITED.withTiming(-1);
+    }
+
+    @Test
+    public void testMaxEntriesParallel() throws Exception {
+        final List<Integer> subjects = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+        final Report report = Reporter.test(subjects, new ReportTester(), ForkJoinPool.commonPool(),
+                                            Reporter.Policy.UNLIMITED.withMaxEntries(10));
+        assertTrue(report.isPartial());
+        assertEquals(subjects.size(), report.asList().size() + report.getSkipped());
+    }
+
+    @Test(timeout = 10000)
+    public void testFailureParallel() throws Exception {
+        final List<Integer> subjects = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+        final AtomicInteger calls = new AtomicInteger(0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Reporter.test(subjects, (context, subject) -> {
+                calls.incrementAndGet();
+                if (100 == subject) {
+                    throw new IllegalStateException("failed");
+                }
+                sleep(1);
+            }, executor);
+            fail("should have failed");
+        } catch (final IllegalStateException caught) {
+            assertEquals("failed", caught.getMessage());
+            final int returned = calls.get();
+            sleep(100);
+            assertEquals(returned, calls.get());
+            assertTrue(returned < subjects.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBudget() throws Exception {
+        final List<Integer> subjects = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        final Report report = Reporter.test(subjects, (context, subject) -> sleep(10),
+                                            Reporter.Policy.UNLIMITED.withBudget(Duration.ofMillis(50)));
+        assertTrue(report.isPartial());
+        assertTrue(report.getSkipped() > 50);
+    }
+
+    @Test(timeout = 10000)
+    public void testBudgetUnbounded() throws Exception {
+        final Iterator<Integer> subjects = Stream.iterate(0, value -> value + 1).iterator();
+        final Report report = Reporter.test(subjects, (context, subject) -> sleep(10),
+                                            Reporter.Policy.UNLIMITED.withBudget(Duration.ofMillis(50)));
+        assertTrue(report.isPartial());
+        assertEquals(Report.UNKNOWN_SKIPPED, report.getSkipped());
+        assertTrue(report.toString().endsWith("<partial: remaining subjects skipped>"));
+    }
+
+    @Test
+    public void testIterableWithoutSpliterator() throws Exception {
+        final Iterable<Boolean> subjects = new Iterable<Boolean>() {
+            @Override
+            public Iterator<Boolean> iterator() {
+                return asList(true, false, true).iterator();
+            }
+
+            @Override
+            public Spliterator<Boolean> spliterator() {
+                throw new UnsupportedOperationException("too expensive");
+            }
+        };
+        final Report report = Reporter.test(subjects, new ExpectTrueTester(),
+                                            Reporter.Policy.UNLIMITED.withMaxEntries(1));
+        assertEquals(1, report.asList().size());
+        assertEquals(Report.UNKNOWN_SKIPPED, report.getSkipped());
+    }
+
+    @Test(timeout = 10000)
+    public void testBudgetUnboundedParallel() throws Exception {
+        final Iterator<Integer> subjects = Stream.iterate(0, value -> value + 1).iterator();
+        final Report report = Reporter.test(subjects, (context, subject) -> sleep(1), ForkJoinPool.commonPool(),
+                                            Reporter.Policy.UNLIMITED.withBudget(Duration.ofMillis(50)));
+        assertTrue(report.isPartial());
+        assertEquals(Report.UNKNOWN_SKIPPED, report.getSkipped());
+    }
+
+    @Test
+    public void testDeadline() throws Exception {
+        // a negative subject means busy waiting, that ignores interruption ...
+        final Report report = Reporter.test(asList(0, -100, 10000), (context, subject) -> {
+            if (0 > subject) {
+                final long end = System.nanoTime() - subject * 1000000L;
+                while (System.nanoTime() < end) {
+                    Thread.yield();
+                }
+            } else {
+                sleep(subject);
+            }
+        }, Reporter.Policy.UNLIMITED.withDeadline(Duration.ofMillis(50)));
+        assertFalse(report.isPartial());
+        assertEquals(2, report.asList().size());
+        assertTrue(report.asList().get(0).toString().startsWith("subject <-100> exceeded the deadline of 50 ms"));
+        assertEquals("subject <10000> has been interrupted after exceeding the deadline of 50 ms",
+                     report.asList().get(1));
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException caught) {
+            throw new IllegalStateException(caught.getMessage(), caught);
+        }
+    }
+
+    @Test
+    public void testManyEntries() throws Exception {
+        final List<Integer> subjects = IntStream.range(0, 5000).boxed().collect(Collectors.toList());
+        final Report report = Reporter.test(subjects, new ReportTester());
+        assertEquals(subjects, report.asList());
+        assertEquals(new Report(subjects), report);
+        assertEquals(new Report(subjects).hashCode(), report.hashCode());
+        assertEquals(4711, report.asList().get(4711));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testEntriesAreImmutable() throws Exception {
+        Reporter.test(asList(1, 2, 3), new ReportTester()).asList().add(4);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testParallelFailing() throws Exception {
+        Reporter.testParallel(asList(1, 2, 3), (context, subject) -> {
+            throw new IllegalStateException("failing subject " + subject);
+        });
+    }
+
     private static class ExpectTrueTester implements Reporter.Tester<Boolean> {
 
         @Override
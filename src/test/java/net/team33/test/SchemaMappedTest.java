@@ -0,0 +1,157 @@
+package net.team33.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+public class SchemaMappedTest {
+
+    private static final Property NAME = new Property("name", String.class, false, "");
+    private static final Property AGE = new Property("age", Integer.class, false, 0);
+    private static final Property REMARK = new Property("remark", String.class, true, null);
+    private static final Schema<Property> SCHEMA = Schema.compile(asList(NAME, AGE, REMARK));
+
+    private static List<Property> properties(final int count) {
+        final List<Property> result = new ArrayList<>(count);
+        for (int index = 0; index < count; ++index) {
+            result.add(new Property("property." + index, Integer.class, false, index));
+        }
+        return result;
+    }
+
+    @Test
+    public void testSchema_indexOf() {
+        final List<Property> keys = properties(1000);
+        final Schema<Property> schema = Schema.compile(keys);
+        for (int index = 0; index < keys.size(); ++index) {
+            Assert.assertEquals(index, schema.indexOf(keys.get(index)));
+            Assert.assertEquals(index, schema.indexOf(keys.get(index).getName()));
+        }
+        Assert.assertEquals(-1, schema.indexOf("property.1000"));
+        Assert.assertEquals(-1, schema.indexOf(new Property("property.0", String.class, false, "")));
+        Assert.assertEquals(-1, schema.indexOf((Object) null));
+    }
+
+    @Test
+    public void testSchema_sameHashCode() {
+        // "Aa" and "BB" share the same String.hashCode() ...
+        final List<Property> keys = properties(100);
+        keys.add(new Property("Aa", Integer.class, false, 0));
+        keys.add(new Property("BB", Integer.class, false, 0));
+        final Schema<Property> schema = Schema.compile(keys);
+        for (int index = 0; index < keys.size(); ++index) {
+            Assert.assertEquals(index, schema.indexOf(keys.get(index).getName()));
+        }
+        Assert.assertEquals(-1, schema.indexOf("C#"));
+    }
+
+    @Test
+    public void testSchema_empty() {
+        Assert.assertEquals(-1, Schema.compile(new ArrayList<Property>(0)).indexOf("any"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSchema_duplicate() {
+        Schema.compile(asList(NAME, new Property("name", Integer.class, true, null)));
+    }
+
+    @Test
+    public void testSet_get() {
+        final Subject subject = new Builder()
+                .set(NAME, "Smith")
+                .set("age", 42)
+                .build();
+        Assert.assertEquals("Smith", subject.get("name"));
+        Assert.assertEquals(Integer.valueOf(42), subject.get(AGE));
+        Assert.assertNull(subject.get(REMARK));
+        Assert.assertEquals(asList(NAME, AGE, REMARK), new ArrayList<>(subject.asMap().keySet()));
+    }
+
+    @Test
+    public void testEquals() {
+        Assert.assertEquals(
+                new Builder().set(NAME, "Smith").build(),
+                new Builder().set("name", "Smith").build()
+        );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGet_foreign_name() {
+        new Builder().build().get("unknown");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSet_foreign_key() {
+        new Builder().set(new Property("unknown", String.class, true, null), "a string");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAsMap_immutable() {
+        new Builder().build().asMap().put(NAME, "Smith");
+    }
+
+    private static class Property implements Schema.Key {
+
+        private final String name;
+        private final Class<?> valueClass;
+        private final boolean nullable;
+        private final Object initial;
+
+        private Property(final String name, final Class<?> valueClass, final boolean nullable, final Object initial) {
+            this.name = name;
+            this.valueClass = valueClass;
+            this.nullable = nullable;
+            this.initial = initial;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class<?> getValueClass() {
+            return valueClass;
+        }
+
+        @Override
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        @Override
+        public Object getInitial() {
+            return initial;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static class Subject extends SchemaMapped<Property> {
+        private Subject(final Builder builder) {
+            super(builder);
+        }
+    }
+
+    private static class Builder extends SchemaMapped.Mapper<Property, Builder> {
+        private Builder() {
+            super(SCHEMA);
+        }
+
+        @Override
+        protected final Builder finallyThis() {
+            return this;
+        }
+
+        private Subject build() {
+            return new Subject(this);
+        }
+    }
+}